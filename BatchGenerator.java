@@ -0,0 +1,139 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Generates many puzzles in parallel on a fork/join pool and streams them to a text file.
+// Puzzle i always uses seed baseSeed + i, so any puzzle can be rebuilt on its own, whatever the thread count.
+// With a dictionary, each puzzle draws its own words from it with that same seed.
+public class BatchGenerator {
+
+    private static final int LEAF = 16; // puzzles per leaf task
+    public static final int WORDS_PER_PUZZLE = WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS.length;
+
+    private final int rows;
+    private final int cols;
+    private final String[] words;
+    private final long baseSeed;
+    private final long budgetMillis;
+    private final DictionaryImage dictionary; // when set, each puzzle draws its words from it
+
+    public BatchGenerator(int rows, int cols, String[] words, long baseSeed, long budgetMillis) {
+        this(rows, cols, words, null, baseSeed, budgetMillis);
+    }
+
+    public BatchGenerator(int rows, int cols, DictionaryImage dictionary, long baseSeed, long budgetMillis) {
+        this(rows, cols, null, dictionary, baseSeed, budgetMillis);
+    }
+
+    private BatchGenerator(int rows, int cols, String[] words, DictionaryImage dictionary, long baseSeed, long budgetMillis) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = words;
+        this.dictionary = dictionary;
+        this.baseSeed = baseSeed;
+        this.budgetMillis = budgetMillis;
+    }
+
+    public long seedFor(int index) {
+        return baseSeed + index;
+    }
+
+    public PuzzleGenerator.Puzzle generate(int index) {
+        Random random = new Random(seedFor(index));
+        String[] w = dictionary == null ? words : dictionary.sample(WORDS_PER_PUZZLE, Math.max(rows, cols), random);
+        return PuzzleGenerator.generate(rows, cols, w, random, budgetMillis);
+    }
+
+    // Generates puzzles [0, count) and writes each one to out as soon as its leaf task finishes.
+    public void run(int count, Writer out, ForkJoinPool pool) throws IOException {
+        Chunk root = new Chunk(0, count, out);
+        pool.invoke(root);
+        if (root.failure != null)
+            throw root.failure;
+        out.flush();
+    }
+
+    private class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+        private final Writer out;
+        private IOException failure;
+
+        Chunk(int from, int to, Writer out) {
+            this.from = from;
+            this.to = to;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = from; i < to; i++)
+                    format(i, generate(i), sb);
+                try {
+                    synchronized (out) {
+                        out.write(sb.toString());
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(from, mid, out), right = new Chunk(mid, to, out);
+            invokeAll(left, right);
+            failure = left.failure != null ? left.failure : right.failure;
+        }
+    }
+
+    private void format(int index, PuzzleGenerator.Puzzle p, StringBuilder sb) {
+        sb.append("# puzzle ").append(index).append(" seed=").append(seedFor(index))
+          .append(' ').append(p.rows()).append('x').append(p.cols()).append('\n');
+        for (char[] row : p.grid())
+            sb.append(row).append('\n');
+        for (PuzzleGenerator.Placement pl : p.placements())
+            sb.append(pl.word()).append(' ').append(pl.row()).append(',').append(pl.col()).append(',').append(pl.dir()).append('\n');
+        for (String w : p.unplaced())
+            sb.append(w).append(" unplaced\n");
+        sb.append('\n');
+    }
+
+    //------CLI: <count> <rows> <cols> <outFile> [seed] [wordsFile or dictionary image]----------------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("usage: BatchGenerator <count> <rows> <cols> <outFile> [seed] [wordsFile]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        int rows = Integer.parseInt(args[1]);
+        int cols = Integer.parseInt(args[2]);
+        Path outFile = Paths.get(args[3]);
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        BatchGenerator batch = new BatchGenerator(rows, cols, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, seed, PuzzleGenerator.DEFAULT_BUDGET_MILLIS);
+        if (args.length > 5) {
+            DictionaryImage dict = DictionaryImage.load(Paths.get(args[5]));
+            if (dict.size() <= WORDS_PER_PUZZLE) { // a short list: place all of it in every puzzle, as before
+                String[] words = new String[dict.size()];
+                for (int i = 0; i < words.length; i++)
+                    words[i] = dict.word(i);
+                batch = new BatchGenerator(rows, cols, words, seed, PuzzleGenerator.DEFAULT_BUDGET_MILLIS);
+            } else
+                batch = new BatchGenerator(rows, cols, dict, seed, PuzzleGenerator.DEFAULT_BUDGET_MILLIS);
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        try (Writer out = Files.newBufferedWriter(outFile, StandardCharsets.UTF_8)) {
+            batch.run(count, out, pool);
+        } finally {
+            pool.shutdown();
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Generated %d puzzles (%dx%d, seed %d) on %d threads in %.2f s: %.1f puzzles/s%n",
+                count, rows, cols, seed, pool.getParallelism(), secs, count / secs);
+    }
+}
@@ -0,0 +1,157 @@
+import java.awt.Color;
+import javax.swing.Timer;
+
+// The one frame clock for a GridView. Every timed cell effect (an error flash, a hint highlight, the
+// sweep over a found word) is a slot in a few parallel primitive arrays rather than its own Timer and
+// listener, and one Swing Timer steps all of them per frame. Colour changes made during a frame, by
+// effects or by plain setCellBackground calls, only grow the view's dirty rectangle; the frame ends with
+// a single repaint of it. The timer stops itself as soon as nothing is animating or dirty.
+//
+//   HOLD: show a colour until the effect ends, then go back to the resting colour
+//   FADE: start at a colour and blend into the resting colour over the effect's length
+//
+// A sweep is a row of FADEs whose start times are staggered along the word.
+public class CellAnimator {
+
+    // The colour a cell shows when no effect is running on it (selection and found state).
+    public interface RestingColor {
+        int background(int r, int c);
+    }
+
+    public static final int FRAME_MILLIS = 16;
+    private static final byte HOLD = 0;
+    private static final byte FADE = 1;
+
+    private final GridView view;
+    private final int cols;
+    private final Timer timer;
+    private final long epoch = System.nanoTime();
+    private RestingColor rest = (r, c) -> Color.WHITE.getRGB();
+
+    private final int[] slotOf; // cell index -> slot + 1, 0 when the cell has no effect
+    private int[] cell = new int[64];
+    private byte[] kind = new byte[64];
+    private int[] color = new int[64];
+    private int[] start = new int[64]; // ms since epoch; may be in the future for a delayed effect
+    private int[] length = new int[64];
+    private int active = 0;
+
+    public CellAnimator(GridView view, int rows, int cols) {
+        this.view = view;
+        this.cols = cols;
+        this.slotOf = new int[rows * cols];
+        this.timer = new Timer(FRAME_MILLIS, e -> frame());
+        timer.setCoalesce(true);
+    }
+
+    public void setRestingColor(RestingColor rest) {
+        this.rest = rest;
+    }
+
+    //------Effects (a new effect on a cell replaces the one running there)----------------
+    public void flash(int r, int c, Color color, int millis) {
+        add(r, c, HOLD, color.getRGB(), 0, millis);
+        view.setCellBackground(r, c, color.getRGB());
+    }
+
+    public void fade(int r, int c, Color from, int millis, int delayMillis) {
+        add(r, c, FADE, from.getRGB(), delayMillis, millis);
+    }
+
+    // Lights up len cells from (row, col) one after another, each fading back to its resting colour.
+    public void sweep(int row, int col, int dr, int dc, int len, Color color, int stepMillis, int fadeMillis) {
+        for (int k = 0; k < len; k++)
+            fade(row + dr * k, col + dc * k, color, fadeMillis, k * stepMillis);
+    }
+
+    public void cancelAll() {
+        for (int s = 0; s < active; s++)
+            slotOf[cell[s]] = 0;
+        active = 0;
+        timer.stop();
+    }
+
+    public boolean isAnimating() {
+        return active > 0;
+    }
+
+    // Called by the view when a cell colour changed, so the next frame repaints it.
+    void requestFrame() {
+        if (!timer.isRunning())
+            timer.start();
+    }
+
+    private void add(int r, int c, byte k, int rgb, int delay, int millis) {
+        int i = r * cols + c, s = slotOf[i] - 1;
+        if (s < 0) {
+            if (active == cell.length)
+                grow();
+            s = active++;
+            cell[s] = i;
+            slotOf[i] = s + 1;
+        }
+        kind[s] = k;
+        color[s] = rgb;
+        start[s] = now() + delay;
+        length[s] = Math.max(1, millis);
+        requestFrame();
+    }
+
+    private void grow() {
+        int n = cell.length * 2;
+        cell = java.util.Arrays.copyOf(cell, n);
+        kind = java.util.Arrays.copyOf(kind, n);
+        color = java.util.Arrays.copyOf(color, n);
+        start = java.util.Arrays.copyOf(start, n);
+        length = java.util.Arrays.copyOf(length, n);
+    }
+
+    //------Frame----------------
+    private void frame() {
+        int now = now();
+        for (int s = active - 1; s >= 0; s--) { // backwards, so a removal swaps in a slot already stepped
+            int t = now - start[s];
+            if (t < 0)
+                continue;
+            int i = cell[s], r = i / cols, c = i % cols;
+            if (t >= length[s]) {
+                view.setCellBackground(r, c, rest.background(r, c));
+                remove(s);
+            } else if (kind[s] == FADE) {
+                view.setCellBackground(r, c, blend(color[s], rest.background(r, c), t, length[s]));
+            } else {
+                view.setCellBackground(r, c, color[s]);
+            }
+        }
+        view.flushRepaint();
+        if (active == 0)
+            timer.stop();
+    }
+
+    private void remove(int s) {
+        slotOf[cell[s]] = 0;
+        int last = --active;
+        if (s != last) {
+            cell[s] = cell[last];
+            kind[s] = kind[last];
+            color[s] = color[last];
+            start[s] = start[last];
+            length[s] = length[last];
+            slotOf[cell[s]] = s + 1;
+        }
+    }
+
+    // Channel-wise mix of two ARGB colours, t/of of the way from a to b.
+    private static int blend(int a, int b, int t, int of) {
+        int out = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int x = a >>> shift & 0xFF, y = b >>> shift & 0xFF;
+            out |= (x + (y - x) * t / of) << shift;
+        }
+        return out;
+    }
+
+    private int now() {
+        return (int) ((System.nanoTime() - epoch) / 1_000_000L);
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// A leaderboard that any number of game sessions in one JVM can share. Writes go straight into a
+// ConcurrentHashMap of each player's best score; merge() locks only the hash bin that holds the name,
+// so upserts from different sessions run side by side with no global lock. Reads (rank, top, page,
+// range, print) are answered from an immutable Snapshot (names and scores in leaderboard order, in two
+// arrays) and take no lock at all, so they never hold up a writer. A snapshot is re-sorted at most
+// once per READ_MAX_AGE_MILLIS, and by one reader at a time; the others keep using the previous one
+// meanwhile. snapshot() always includes every finished write.
+public class ConcurrentLeaderboard implements WordSearchGameGUI.WordSearchGame.Leaderboard {
+
+    private final ConcurrentHashMap<String, Integer> best = new ConcurrentHashMap<>();
+    private final LongAdder writes = new LongAdder(); // only grows, so its sum serves as a version
+    private final AtomicReference<Snapshot> latest = new AtomicReference<>(new Snapshot(new String[0], new int[0], 0, System.nanoTime()));
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public static final long READ_MAX_AGE_MILLIS = 100;
+
+    //------Writes: a player keeps their best score----------------
+    @Override
+    public void insert(String name, int score) {
+        if (best.merge(name, score, Math::max) == score)
+            writes.increment(); // re-saving an equal best lands here too; that only costs one re-sort
+    }
+
+    @Override
+    public void loadSorted(String[] names, int[] scores, int n) {
+        for (int i = 0; i < n; i++)
+            insert(names[i], scores[i]);
+    }
+
+    //------Snapshots----------------
+    // Every write that finished before this call is in the returned snapshot.
+    public Snapshot snapshot() {
+        return snapshot(0);
+    }
+
+    // May leave out writes from the last maxAgeMillis, which saves a re-sort under heavy writing. While
+    // another reader is re-sorting, this returns the previous snapshot instead of sorting a second copy.
+    public Snapshot snapshot(long maxAgeMillis) {
+        Snapshot s = latest.get();
+        long version = writes.sum(); // read before the map, so a write racing the build only makes it newer
+        // the empty board a new leaderboard starts with is never recent enough to reuse
+        if (s.version == version || (s.version > 0 && System.nanoTime() - s.takenNanos < maxAgeMillis * 1_000_000L))
+            return s;
+        boolean shared = maxAgeMillis > 0;
+        if (shared && !rebuilding.compareAndSet(false, true))
+            return s;
+        try {
+            return latest.accumulateAndGet(build(version), (cur, fresh) -> cur.version >= fresh.version ? cur : fresh);
+        } finally {
+            if (shared)
+                rebuilding.set(false);
+        }
+    }
+
+    private Snapshot build(long version) {
+        List<Map.Entry<String, Integer>> rows = new ArrayList<>(best.size());
+        for (Map.Entry<String, Integer> e : best.entrySet())
+            rows.add(Map.entry(e.getKey(), e.getValue()));
+        rows.sort((a, b) -> !a.getValue().equals(b.getValue()) ? Integer.compare(b.getValue(), a.getValue()) : a.getKey().compareTo(b.getKey()));
+        String[] names = new String[rows.size()];
+        int[] scores = new int[rows.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = rows.get(i).getKey();
+            scores[i] = rows.get(i).getValue();
+        }
+        return new Snapshot(names, scores, version, System.nanoTime());
+    }
+
+    //------Reads----------------
+    @Override
+    public int size() {
+        return best.size();
+    }
+
+    @Override
+    public Integer scoreOf(String name) {
+        return best.get(name);
+    }
+
+    // The player's own best is always current; the others are as of a snapshot at most
+    // READ_MAX_AGE_MILLIS old, so a SAVE followed by a rank never waits for a re-sort.
+    @Override
+    public int rank(String name) {
+        Integer score = best.get(name);
+        return score == null ? -1 : snapshot(READ_MAX_AGE_MILLIS).rankAmong(name, score);
+    }
+
+    @Override
+    public List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> top(int k) {
+        return snapshot(READ_MAX_AGE_MILLIS).range(0, k);
+    }
+
+    @Override
+    public List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> page(int page, int pageSize) {
+        return snapshot(READ_MAX_AGE_MILLIS).range((int) Math.min(Integer.MAX_VALUE, (long) page * pageSize), pageSize);
+    }
+
+    @Override
+    public List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> range(int from, int count) {
+        return snapshot(READ_MAX_AGE_MILLIS).range(from, count);
+    }
+
+    @Override
+    public String printDescToString() {
+        return printDescToString(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String printDescToString(int limit) {
+        return snapshot(READ_MAX_AGE_MILLIS).printDescToString(limit);
+    }
+
+    // The board at one moment, ordered by (score desc, name asc). Never changes once built.
+    public static final class Snapshot {
+        private final String[] names;
+        private final int[] scores;
+        private final long version;
+        private final long takenNanos;
+
+        private Snapshot(String[] names, int[] scores, long version, long takenNanos) {
+            this.names = names;
+            this.scores = scores;
+            this.version = version;
+            this.takenNanos = takenNanos;
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        // 1-based rank of the player with this score, or -1 if the snapshot does not have it.
+        public int rank(String name, int score) {
+            int lo = 0, hi = names.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = scores[mid] != score ? Integer.compare(score, scores[mid]) : names[mid].compareTo(name);
+                if (cmp == 0)
+                    return mid + 1;
+                if (cmp < 0)
+                    lo = mid + 1;
+                else
+                    hi = mid - 1;
+            }
+            return -1;
+        }
+
+        // 1-based rank this player would have with this score, whether or not the snapshot has them
+        // yet: one more than the entries ordered ahead of (score, name). An older, lower score of the
+        // same player sorts behind, so it does not count.
+        public int rankAmong(String name, int score) {
+            int lo = 0, hi = names.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (scores[mid] > score || (scores[mid] == score && names[mid].compareTo(name) < 0))
+                    lo = mid + 1;
+                else
+                    hi = mid;
+            }
+            return lo + 1;
+        }
+
+        public List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> range(int from, int count) {
+            int to = (int) Math.min(names.length, Math.max(0, (long) from + count));
+            List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> out = new ArrayList<>(Math.max(0, to - from));
+            for (int i = Math.max(0, from); i < to; i++)
+                out.add(new WordSearchGameGUI.WordSearchGame.ScoreTree.Entry(i + 1, names[i], scores[i]));
+            return out;
+        }
+
+        public String printDescToString(int limit) {
+            if (names.length == 0)
+                return "(no scores yet)";
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < names.length && i < limit; i++)
+                sb.append(i + 1).append(". ").append(names[i]).append(" : ").append(scores[i]).append("\n");
+            return sb.toString();
+        }
+    }
+}
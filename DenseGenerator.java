@@ -0,0 +1,233 @@
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Dense generation mode: instead of placing only the game's words and leaving the rest of the grid to
+// random filler letters, it keeps packing extra words from a pool into the grid. Every candidate slot
+// is scored by how many letters it shares with words already placed, and the word goes where it
+// shares the most (ties broken at random). Placing the required words and then the pool words this
+// way is one greedy attempt. Every core runs attempts on its own seed until the time budget is spent,
+// and the densest result is kept.
+public class DenseGenerator {
+
+    public static final int DEFAULT_POOL = 4096; // words drawn from a dictionary to pack with
+    private static final int GIVE_UP = 256; // pool words in a row that found no slot before an attempt stops
+
+    public static record Stats(int rows, int cols, int requiredPlaced, int requiredTotal, int extraPlaced,
+                               int coveredCells, int sharedCells, int attempts, int threads, long elapsedNanos) {
+        public int cells() {
+            return rows * cols;
+        }
+        // Share of cells that belong to some word instead of being filler.
+        public double density() {
+            return (double) coveredCells / cells();
+        }
+        @Override
+        public String toString() {
+            return String.format("%dx%d: %d/%d required + %d extra words, %.1f%% of cells in words (%d shared letters), best of %d attempts on %d threads in %.0f ms",
+                    rows, cols, requiredPlaced, requiredTotal, extraPlaced, density() * 100, sharedCells, attempts, threads, elapsedNanos / 1e6);
+        }
+    }
+
+    public static record Result(PuzzleGenerator.Puzzle puzzle, Stats stats) {
+    }
+
+    private final int rows;
+    private final int cols;
+    private final String[] required;
+    private final String[] pool;
+    private long budgetMillis = PuzzleGenerator.DEFAULT_BUDGET_MILLIS;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    public DenseGenerator(int rows, int cols, String[] required, String[] pool) {
+        if (rows < 1 || cols < 1 || rows > PuzzleGenerator.MAX_SIZE || cols > PuzzleGenerator.MAX_SIZE)
+            throw new IllegalArgumentException("Grid size must be between 1x1 and " + PuzzleGenerator.MAX_SIZE + "x" + PuzzleGenerator.MAX_SIZE + ": " + rows + "x" + cols);
+        int longest = Math.max(rows, cols);
+        for (String w : required)
+            if (w.isEmpty() || w.length() > longest)
+                throw new IllegalArgumentException("\"" + w + "\" cannot fit in a " + rows + "x" + cols + " grid");
+        Set<String> req = new HashSet<>(Arrays.asList(required));
+        List<String> usable = new ArrayList<>();
+        for (String w : new LinkedHashSet<>(Arrays.asList(pool)))
+            if (w.length() >= WordSearchGameGUI.WordSearchGame.MIN_WORD && w.length() <= longest && !req.contains(w))
+                usable.add(w);
+        this.rows = rows;
+        this.cols = cols;
+        this.required = required.clone();
+        this.pool = usable.toArray(new String[0]);
+    }
+
+    public void setTimeBudgetMillis(long millis) {
+        budgetMillis = millis;
+    }
+    public void setThreads(int n) {
+        threads = Math.max(1, n);
+    }
+
+    //------Parallel search: attempt seeds baseSeed, baseSeed + 1, ... until the budget is spent----------------
+    public Result generate(long baseSeed) {
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000L;
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "dense-generator");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Callable<Attempt>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            tasks.add(() -> {
+                Attempt mine = null;
+                do {
+                    Attempt a = attempt(baseSeed + next.getAndIncrement(), deadline);
+                    if (a.isBetterThan(mine))
+                        mine = a;
+                } while (System.nanoTime() < deadline && mine.covered < rows * cols);
+                return mine;
+            });
+        Attempt best = null;
+        try {
+            for (Future<Attempt> f : workers.invokeAll(tasks))
+                if (f.get().isBetterThan(best))
+                    best = f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dense generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        best.gen.fill(best.placed);
+        PuzzleGenerator.Puzzle puzzle = new PuzzleGenerator.Puzzle(best.gen.getGrid(), best.placed, best.unplaced, best.slotsScored, elapsed);
+        int letters = 0;
+        for (PuzzleGenerator.Placement p : best.placed)
+            letters += p.length();
+        Stats stats = new Stats(rows, cols, best.requiredPlaced, required.length, best.placed.size() - best.requiredPlaced,
+                best.covered, letters - best.covered, next.get(), threads, elapsed);
+        return new Result(puzzle, stats);
+    }
+
+    //------One greedy attempt----------------
+    private static final class Attempt {
+        final long seed;
+        final PuzzleGenerator gen;
+        final List<PuzzleGenerator.Placement> placed = new ArrayList<>();
+        final List<String> unplaced = new ArrayList<>();
+        int requiredPlaced;
+        int covered;
+        long slotsScored;
+
+        Attempt(long seed, PuzzleGenerator gen) {
+            this.seed = seed;
+            this.gen = gen;
+        }
+
+        boolean isBetterThan(Attempt o) {
+            if (o == null)
+                return true;
+            if (requiredPlaced != o.requiredPlaced)
+                return requiredPlaced > o.requiredPlaced;
+            if (covered != o.covered)
+                return covered > o.covered;
+            if (placed.size() != o.placed.size())
+                return placed.size() > o.placed.size();
+            return seed < o.seed; // same result whichever thread finished first
+        }
+    }
+
+    private Attempt attempt(long seed, long deadline) {
+        Random random = new Random(seed);
+        Attempt a = new Attempt(seed, new PuzzleGenerator(rows, cols, random));
+        Set<String> used = new HashSet<>();
+        // longest first, equal lengths in a different order every attempt
+        List<String> order = new ArrayList<>(Arrays.asList(required));
+        Collections.shuffle(order, random);
+        order.sort((x, y) -> y.length() - x.length());
+        for (String w : order) {
+            if (!used.add(w))
+                continue;
+            if (placeBest(a, w, random, deadline))
+                a.requiredPlaced++;
+            else
+                a.unplaced.add(w); // no slot, or out of time: then the rest land here too and the attempt ends
+        }
+        if (System.nanoTime() >= deadline)
+            return a;
+        int misses = 0;
+        while (misses < GIVE_UP && a.covered < rows * cols && pool.length > 0 && System.nanoTime() < deadline) {
+            String w = pool[random.nextInt(pool.length)];
+            if (used.contains(w) || !placeBest(a, w, random, deadline)) {
+                misses++;
+                continue;
+            }
+            used.add(w);
+            misses = 0;
+        }
+        return a;
+    }
+
+    // Puts the word in the slot sharing the most letters with the grid; a slot that would add no new
+    // cell is skipped, since the word would then just be read off other words. Gives up (false) once
+    // the deadline passes, checked once per row so one scan of a large grid cannot overrun it.
+    private boolean placeBest(Attempt a, String word, Random random, long deadline) {
+        int len = word.length(), best = -1, ties = 0;
+        int bestR = 0, bestC = 0, bestDir = 0;
+        for (int r = 0; r < rows; r++) {
+            if (System.nanoTime() >= deadline)
+                return false;
+            for (int c = 0; c < cols; c++)
+                for (int dir = 0; dir < 8; dir++) {
+                    int shared = a.gen.overlap(word, r, c, dir);
+                    a.slotsScored++;
+                    if (shared < 0 || shared == len || shared < best)
+                        continue;
+                    if (shared > best) {
+                        best = shared;
+                        ties = 0;
+                    }
+                    if (random.nextInt(++ties) == 0) {
+                        bestR = r;
+                        bestC = c;
+                        bestDir = dir;
+                    }
+                }
+        }
+        if (best < 0)
+            return false;
+        a.gen.placeWord(word, bestR, bestC, bestDir);
+        a.placed.add(new PuzzleGenerator.Placement(word, bestR, bestC, bestDir));
+        a.covered += len - best;
+        return true;
+    }
+
+    //------CLI: <rows> <cols> [millis] [seed] [wordsFile or dictionary image]----------------
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length < 2) {
+            System.err.println("usage: DenseGenerator <rows> <cols> [millis] [seed] [wordsFile]");
+            System.exit(2);
+        }
+        int rows = Integer.parseInt(args[0]);
+        int cols = Integer.parseInt(args[1]);
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : PuzzleGenerator.DEFAULT_BUDGET_MILLIS;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+        String[] pool = WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS;
+        if (args.length > 4)
+            pool = DictionaryImage.load(Paths.get(args[4])).sample(DEFAULT_POOL, Math.max(rows, cols), new Random(seed));
+        DenseGenerator dense = new DenseGenerator(rows, cols, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, pool);
+        dense.setTimeBudgetMillis(millis);
+        Result result = dense.generate(seed);
+        for (char[] row : result.puzzle().grid())
+            System.out.println(row);
+        for (PuzzleGenerator.Placement p : result.puzzle().placements())
+            System.out.println(p.word() + " " + p.row() + "," + p.col() + "," + p.dir());
+        for (String w : result.puzzle().unplaced())
+            System.out.println(w + " unplaced");
+        System.out.println(result.stats());
+    }
+}
@@ -0,0 +1,326 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// A word list held as one flat image in a direct (off-heap) or mapped buffer:
+//
+//   magic, version, count, blobBytes, minLen, maxLen | (count + 1) x int offset | blob
+//
+// The blob is every word in upper-case A-Z, sorted and without duplicates, back to back; word i is
+// blob[offset[i], offset[i + 1]). fromWordList() streams a text list through memory-mapped windows and
+// filters by length and alphabet straight from the bytes, with no String per line. save() writes the
+// image as is and open() maps it back, so a saved dictionary is ready without parsing anything.
+// Lookups binary-search the blob byte by byte; a String is only made for a word that is handed out.
+public final class DictionaryImage {
+
+    private static final int MAGIC = 0x57534449; // "WSDI"
+    private static final int VERSION = 1;
+    private static final int HEADER = 24;
+    private static final long WINDOW = 1L << 28; // bytes of the word list mapped at a time
+    public static final int DEFAULT_MIN_LEN = WordSearchGameGUI.WordSearchGame.MIN_WORD;
+    public static final int DEFAULT_MAX_LEN = 24;
+
+    private final ByteBuffer image;
+    private final int count;
+    private final int minLen;
+    private final int maxLen;
+    private final int blobStart;
+
+    private DictionaryImage(ByteBuffer image) throws IOException {
+        if (image.limit() < HEADER || image.getInt(0) != MAGIC || image.getInt(4) != VERSION)
+            throw new IOException("Not a dictionary image");
+        this.image = image;
+        this.count = image.getInt(8);
+        this.minLen = image.getInt(16);
+        this.maxLen = image.getInt(20);
+        this.blobStart = HEADER + 4 * (count + 1);
+        if ((long) blobStart + image.getInt(12) > image.limit())
+            throw new IOException("Truncated dictionary image");
+    }
+
+    //------Building from a text word list (one word per line)----------------
+    public static DictionaryImage fromWordList(Path list, int minLen, int maxLen) throws IOException {
+        Builder b = new Builder(minLen, maxLen);
+        try (FileChannel ch = FileChannel.open(list, StandardOpenOption.READ)) {
+            long size = ch.size(), pos = 0;
+            while (pos < size) {
+                long len = Math.min(WINDOW, size - pos);
+                MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                int used = b.scan(window, pos + len == size);
+                if (used == 0)
+                    throw new IOException("Line longer than " + WINDOW + " bytes in " + list);
+                pos += used; // a line cut by the window end is read again at the start of the next one
+            }
+        }
+        return b.build();
+    }
+
+    // A saved image (mapped, no parsing) or else a plain word list with the default length limits.
+    public static DictionaryImage load(Path p) throws IOException {
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4);
+            ch.read(magic, 0);
+            if (magic.position() == 4 && magic.getInt(0) == MAGIC)
+                return open(p);
+        }
+        return fromWordList(p, DEFAULT_MIN_LEN, DEFAULT_MAX_LEN);
+    }
+
+    public static DictionaryImage open(Path p) throws IOException {
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            return new DictionaryImage(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    public void save(Path p) throws IOException {
+        Path tmp = p.resolveSibling(p.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer all = image.duplicate().clear();
+            while (all.hasRemaining())
+                out.write(all);
+            out.force(true);
+        }
+        Files.move(tmp, p, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    //------Queries----------------
+    public int size() {
+        return count;
+    }
+    public int getMinLength() {
+        return minLen;
+    }
+    public int getMaxLength() {
+        return maxLen;
+    }
+    public int imageBytes() {
+        return image.limit();
+    }
+
+    public int length(int i) {
+        return offset(i + 1) - offset(i);
+    }
+
+    public String word(int i) {
+        byte[] bytes = new byte[length(i)];
+        image.get(blobStart + offset(i), bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public boolean contains(CharSequence w) {
+        return indexOf(w) >= 0;
+    }
+
+    // Position of w (case-insensitive) in sorted order, or -1.
+    public int indexOf(CharSequence w) {
+        int lo = 0, hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(mid, w);
+            if (cmp == 0)
+                return mid;
+            if (cmp < 0)
+                lo = mid + 1;
+            else
+                hi = mid - 1;
+        }
+        return -1;
+    }
+
+    // Up to n different words no longer than maxLength, picked at random; fewer if the list runs short.
+    public String[] sample(int n, int maxLength, Random random) {
+        LinkedHashSet<Integer> picked = new LinkedHashSet<>();
+        for (int tries = 0; picked.size() < n && tries < n * 64 && count > 0; tries++) {
+            int i = random.nextInt(count);
+            if (length(i) <= maxLength)
+                picked.add(i);
+        }
+        String[] out = new String[picked.size()];
+        int k = 0;
+        for (int i : picked)
+            out[k++] = word(i);
+        return out;
+    }
+
+    private int offset(int i) {
+        return image.getInt(HEADER + 4 * i);
+    }
+
+    private int compare(int i, CharSequence w) {
+        int at = blobStart + offset(i), len = length(i), n = Math.min(len, w.length());
+        for (int k = 0; k < n; k++) {
+            int a = image.get(at + k), b = Character.toUpperCase(w.charAt(k));
+            if (a != b)
+                return a - b;
+        }
+        return len - w.length();
+    }
+
+    //------Builder: accepted words are appended to one growing byte array----------------
+    private static final class Builder {
+        private final int minLen, maxLen;
+        private byte[] blob = new byte[1 << 16];
+        private int blobLen = 0;
+        private int[] start = new int[1 << 12];
+        private int[] len = new int[1 << 12];
+        private int words = 0;
+
+        Builder(int minLen, int maxLen) {
+            if (minLen < 1 || maxLen < minLen)
+                throw new IllegalArgumentException("Bad length range " + minLen + ".." + maxLen);
+            this.minLen = minLen;
+            this.maxLen = maxLen;
+        }
+
+        // Takes every complete line of buf and returns how many bytes that was; the rest of the
+        // window is a line that continues in the next window (unless last).
+        int scan(ByteBuffer buf, boolean last) {
+            int limit = buf.limit(), lineStart = 0;
+            int n = 0;
+            boolean ok = true, ended = false;
+            for (int i = 0; i < limit; i++) {
+                byte b = buf.get(i);
+                if (b == '\n') {
+                    commit(n, ok);
+                    lineStart = i + 1;
+                    n = 0;
+                    ok = true;
+                    ended = false;
+                } else if (b == ' ' || b == '\t' || b == '\r') {
+                    ended = n > 0;
+                } else if (!ok) {
+                    continue;
+                } else if (ended || n == maxLen) {
+                    ok = false; // a second word on the line, or too long
+                } else if (b >= 'A' && b <= 'Z' || b >= 'a' && b <= 'z') {
+                    ensureBlob(blobLen + n + 1);
+                    blob[blobLen + n++] = (byte) (b & ~0x20);
+                } else {
+                    ok = false; // digits, punctuation and non-ASCII letters cannot go on the grid
+                }
+            }
+            if (!last)
+                return lineStart;
+            commit(n, ok);
+            return limit;
+        }
+
+        private void commit(int n, boolean ok) {
+            if (!ok || n < minLen)
+                return;
+            if (words == start.length) {
+                start = Arrays.copyOf(start, words * 2);
+                len = Arrays.copyOf(len, words * 2);
+            }
+            start[words] = blobLen;
+            len[words++] = n;
+            blobLen += n;
+        }
+
+        private void ensureBlob(int size) {
+            if (size > blob.length)
+                blob = Arrays.copyOf(blob, Math.max(size, blob.length * 2));
+        }
+
+        DictionaryImage build() throws IOException {
+            int[] order = new int[words];
+            for (int i = 0; i < words; i++)
+                order[i] = i;
+            sort(order, 0, words, 0);
+            int unique = 0, bytes = 0;
+            for (int i = 0; i < words; i++)
+                if (i == 0 || compareWords(order[i - 1], order[i]) != 0) {
+                    order[unique++] = order[i];
+                    bytes += len[order[i]];
+                }
+            ByteBuffer image = ByteBuffer.allocateDirect(HEADER + 4 * (unique + 1) + bytes);
+            image.putInt(MAGIC).putInt(VERSION).putInt(unique).putInt(bytes).putInt(minLen).putInt(maxLen);
+            int off = 0;
+            for (int i = 0; i < unique; i++) {
+                image.putInt(off);
+                off += len[order[i]];
+            }
+            image.putInt(off);
+            for (int i = 0; i < unique; i++)
+                image.put(blob, start[order[i]], len[order[i]]);
+            return new DictionaryImage(image.flip());
+        }
+
+        // Multikey quicksort (three-way partition on the d-th letter), so equal prefixes are compared once.
+        private void sort(int[] a, int lo, int hi, int d) {
+            while (hi - lo > 1) {
+                if (hi - lo < 12) {
+                    insertionSort(a, lo, hi, d);
+                    return;
+                }
+                int v = charAt(a[(lo + hi) >>> 1], d);
+                int lt = lo, gt = hi - 1, i = lo;
+                while (i <= gt) {
+                    int t = charAt(a[i], d);
+                    if (t < v)
+                        swap(a, lt++, i++);
+                    else if (t > v)
+                        swap(a, i, gt--);
+                    else
+                        i++;
+                }
+                sort(a, lo, lt, d);
+                sort(a, gt + 1, hi, d);
+                if (v < 0)
+                    return; // the middle part are equal words that have all ended
+                lo = lt;
+                hi = gt + 1;
+                d++;
+            }
+        }
+
+        private void insertionSort(int[] a, int lo, int hi, int d) {
+            for (int i = lo + 1; i < hi; i++)
+                for (int j = i; j > lo && compareFrom(a[j - 1], a[j], d) > 0; j--)
+                    swap(a, j - 1, j);
+        }
+
+        private int charAt(int w, int d) {
+            return d < len[w] ? blob[start[w] + d] : -1;
+        }
+
+        private int compareWords(int x, int y) {
+            return compareFrom(x, y, 0);
+        }
+
+        private int compareFrom(int x, int y, int d) {
+            int n = Math.min(len[x], len[y]);
+            for (int k = d; k < n; k++) {
+                int c = blob[start[x] + k] - blob[start[y] + k];
+                if (c != 0)
+                    return c;
+            }
+            return len[x] - len[y];
+        }
+
+        private static void swap(int[] a, int i, int j) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    //------CLI: <wordList> <imageFile> [minLen maxLen]----------------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: DictionaryImage <wordList> <imageFile> [minLen maxLen]");
+            System.exit(2);
+        }
+        int minLen = args.length > 3 ? Integer.parseInt(args[2]) : DEFAULT_MIN_LEN;
+        int maxLen = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_LEN;
+        long start = System.nanoTime();
+        DictionaryImage dict = fromWordList(Paths.get(args[0]), minLen, maxLen);
+        dict.save(Paths.get(args[1]));
+        System.out.printf("%d words (%d..%d letters), %d byte image, built in %.1f ms%n", dict.size(), minLen, maxLen,
+                dict.imageBytes(), (System.nanoTime() - start) / 1e6);
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Small client for GameServer. As a library it sends one command and reads back its full reply;
+// from the command line it is either an interactive console or a crowd of bots that solve their
+// own puzzles (--play), which is the quickest way to exercise a local server.
+public class GameClient implements Closeable {
+
+    private final SocketChannel ch;
+    private final ByteBuffer in = ByteBuffer.allocate(8192);
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    public GameClient(String host, int port) throws IOException {
+        ch = SocketChannel.open(new InetSocketAddress(host, port));
+        in.flip();
+    }
+
+    public void sendLine(String cmd) throws IOException {
+        ByteBuffer buf = StandardCharsets.UTF_8.encode(cmd + "\n");
+        while (buf.hasRemaining())
+            ch.write(buf);
+    }
+
+    public String readLine() throws IOException {
+        while (true) {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                if (b == '\n') {
+                    String s = line.toString(StandardCharsets.UTF_8);
+                    line.reset();
+                    return s;
+                }
+                if (b != '\r')
+                    line.write(b);
+            }
+            in.clear();
+            int n = ch.read(in);
+            in.flip();
+            if (n < 0)
+                return null;
+        }
+    }
+
+    // Sends cmd and returns every line of its reply.
+    public List<String> send(String cmd) throws IOException {
+        sendLine(cmd);
+        List<String> reply = new ArrayList<>();
+        String first = readLine();
+        if (first == null)
+            throw new EOFException("server closed the connection");
+        reply.add(first);
+        String op = cmd.trim().split("\\s+")[0].toUpperCase();
+        if (first.startsWith("GRID ")) {
+            int rows = Integer.parseInt(first.split(" ")[1]);
+            for (int i = 0; i <= rows; i++) // grid rows, then the WORDS line
+                reply.add(readLine());
+            if (op.equals("RESUME"))
+                reply.add(readLine()); // SCORE n
+        } else if ((op.equals("TOP") || op.equals("STATS")) && !first.startsWith("ERR")) {
+            String s = first;
+            while (!s.equals("END"))
+                reply.add(s = readLine());
+        }
+        return reply;
+    }
+
+    @Override
+    public void close() throws IOException {
+        ch.close();
+    }
+
+    //------Bot: start a game, find every word with the packed grid, submit, save----------------
+    static int playOneGame(String host, int port, String name, int rows, int cols) throws IOException {
+        try (GameClient c = new GameClient(host, port)) {
+            List<String> reply = c.send("NEW " + rows + " " + cols);
+            char[][] grid = new char[rows][];
+            for (int r = 0; r < rows; r++)
+                grid[r] = reply.get(1 + r).toCharArray();
+            String[] words = reply.get(rows + 1).substring("WORDS".length()).trim().split(" ");
+            c.send("NAME " + name);
+            PackedGrid packed = new PackedGrid(grid);
+            int found = 0;
+            for (String w : words) {
+                for (PackedGrid.Occurrence o : packed.find(w)) {
+                    StringBuilder cmd = new StringBuilder("SUBMIT");
+                    for (int i = 0; i < w.length(); i++)
+                        cmd.append(' ').append(o.row() + i * PuzzleGenerator.DR[o.dir()]).append(',').append(o.col() + i * PuzzleGenerator.DC[o.dir()]);
+                    if (c.send(cmd.toString()).get(0).startsWith("FOUND")) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+            c.send("SAVE");
+            c.send("QUIT");
+            return found;
+        }
+    }
+
+    //------CLI: [host] [port] | --play bots [host] [port] [rows cols]----------------
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--play")) {
+            int bots = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+            String host = args.length > 2 ? args[2] : "localhost";
+            int port = args.length > 3 ? Integer.parseInt(args[3]) : GameServer.DEFAULT_PORT;
+            int rows = args.length > 5 ? Integer.parseInt(args[4]) : WordSearchGameGUI.WordSearchGame.DEFAULT_ROWS;
+            int cols = args.length > 5 ? Integer.parseInt(args[5]) : WordSearchGameGUI.WordSearchGame.DEFAULT_COLS;
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(bots, 64));
+            AtomicLong words = new AtomicLong();
+            long start = System.nanoTime();
+            List<Future<?>> done = new ArrayList<>();
+            for (int i = 0; i < bots; i++) {
+                String name = "bot" + i;
+                done.add(pool.submit(() -> {
+                    words.addAndGet(playOneGame(host, port, name, rows, cols));
+                    return null;
+                }));
+            }
+            for (Future<?> f : done)
+                f.get();
+            pool.shutdown();
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d bots finished %d words in %.2f s (%.0f games/s)%n", bots, words.get(), secs, bots / secs);
+            try (GameClient c = new GameClient(host, port)) {
+                c.send("TOP 5").forEach(System.out::println);
+            }
+            return;
+        }
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        try (GameClient c = new GameClient(host, port);
+             BufferedReader console = new BufferedReader(new InputStreamReader(System.in))) {
+            System.out.println("Connected. Try: NEW, SUBMIT r,c r,c ..., UNDO, REDO, JUMP n, SCORE, SAVE, TOP 10, QUIT");
+            String cmd;
+            while ((cmd = console.readLine()) != null) {
+                if (cmd.isBlank())
+                    continue;
+                for (String s : c.send(cmd))
+                    System.out.println(s);
+                if (cmd.trim().equalsIgnoreCase("QUIT"))
+                    break;
+            }
+        }
+    }
+}
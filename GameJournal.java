@@ -0,0 +1,301 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Append-only journal of everything a player does, written without ever blocking the EDT.
+//
+// The EDT (the only producer) packs each action into one long and drops it into a fixed ring; a
+// background writer drains the ring in batches to the journal file. Publishing is a plain array store
+// plus a lazySet of the head counter, so there are no locks and no allocation per event. If the ring is
+// ever full the event is dropped and counted, and the writer records a GAP so replay knows.
+//
+//   file:   int magic "WSGJ", short version, long start time (epoch ms), then records
+//   record: long event, int ms since start; a START record is followed by a GameSnapshot of the new game
+//   event:  type (8 bits) | a (28 bits) | b (28 bits, signed)
+//
+// replay() rebuilds each game from its START snapshot and re-applies the actions, checking every
+// recorded outcome and score against the rebuilt game.
+public class GameJournal implements Closeable {
+
+    private static final int MAGIC = 0x57534A47; // "WSGJ"
+    private static final short VERSION = 1;
+    private static final int HEADER = 14;
+    private static final int RECORD = 12;
+    public static final int CAPACITY = 1 << 16; // events in the ring, a power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_NANOS = 10_000_000L; // writer sleep when the ring is empty
+
+    //------Event types----------------
+    public static final int START = 1;    // a = snapshot length
+    public static final int SELECT = 2;   // a = row, b = col
+    public static final int DESELECT = 3;
+    public static final int CLEAR = 4;
+    public static final int SUBMIT = 5;   // a = Outcome ordinal, b = score after
+    public static final int UNDO = 6;     // a = word ID + 1 (0 = nothing to undo), b = score after
+    public static final int HINT = 7;     // a = word ID, b = score after
+    public static final int GAP = 8;      // a = events lost because the ring was full
+    public static final int REDO = 9;     // a = word ID + 1 (0 = nothing to redo), b = score after
+
+    private final long[] ring = new long[CAPACITY];
+    private final int[] stamps = new int[CAPACITY];
+    private final AtomicLong head = new AtomicLong(); // next slot the producer writes
+    private final AtomicLong tail = new AtomicLong(); // next slot the writer reads
+    private final ConcurrentLinkedQueue<byte[]> snapshots = new ConcurrentLinkedQueue<>(); // START payloads, in order
+    private volatile long dropped;
+    private volatile boolean running = true;
+    private final long startMillis = System.currentTimeMillis();
+    private final FileChannel out;
+    private final Thread writer;
+
+    public GameJournal(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        out = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putShort(VERSION).putLong(startMillis).flip();
+        while (header.hasRemaining())
+            out.write(header);
+        writer = new Thread(this::drain, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    //------Producer side (EDT)----------------
+    public void startGame(WordSearchGameGUI.WordSearchGame game) {
+        byte[] snap = GameSnapshot.write(game);
+        if (head.get() - tail.get() >= CAPACITY) {
+            dropped++;
+            return;
+        }
+        snapshots.add(snap); // queued before its START record, which is sure to fit now
+        publish(event(START, snap.length, 0));
+    }
+    public void select(int r, int c) {
+        publish(event(SELECT, r, c));
+    }
+    public void deselect() {
+        publish(event(DESELECT, 0, 0));
+    }
+    public void clear() {
+        publish(event(CLEAR, 0, 0));
+    }
+    public void submit(WordSearchGameGUI.WordSearchGame.Outcome outcome, int score) {
+        publish(event(SUBMIT, outcome.ordinal(), score));
+    }
+    public void undo(int wordId, int score) {
+        publish(event(UNDO, wordId + 1, score));
+    }
+    public void redo(int wordId, int score) {
+        publish(event(REDO, wordId + 1, score));
+    }
+    public void hint(int wordId, int score) {
+        publish(event(HINT, wordId, score));
+    }
+
+    private void publish(long e) {
+        long h = head.get();
+        if (h - tail.get() >= CAPACITY) {
+            dropped++; // single producer, so no lost updates
+            return;
+        }
+        int i = (int) h & MASK;
+        ring[i] = e;
+        stamps[i] = (int) (System.currentTimeMillis() - startMillis);
+        head.lazySet(h + 1); // publishes ring[i] and stamps[i] to the writer
+    }
+
+    static long event(int type, int a, int b) {
+        return (long) type << 56 | (long) (a & 0xFFFFFFF) << 28 | (b & 0xFFFFFFFL);
+    }
+    static int type(long e) {
+        return (int) (e >>> 56);
+    }
+    static int a(long e) {
+        return (int) (e >>> 28) & 0xFFFFFFF;
+    }
+    static int b(long e) {
+        return (int) e << 4 >> 4; // sign-extend the low 28 bits
+    }
+
+    //------Writer thread----------------
+    private void drain() {
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+        long reportedDrops = 0;
+        try {
+            while (true) {
+                long t = tail.get(), h = head.get();
+                long drops = dropped;
+                if (t == h && drops == reportedDrops) {
+                    if (!running)
+                        break;
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                for (; t < h; t++) {
+                    int i = (int) t & MASK;
+                    long e = ring[i];
+                    byte[] snap = type(e) == START ? snapshots.poll() : null;
+                    if (buf.remaining() < RECORD)
+                        flush(buf);
+                    buf.putLong(e).putInt(stamps[i]);
+                    if (snap != null)
+                        put(buf, snap);
+                    tail.lazySet(t + 1); // frees the slot as soon as it is copied
+                }
+                if (drops != reportedDrops) {
+                    if (buf.remaining() < RECORD)
+                        flush(buf);
+                    buf.putLong(event(GAP, (int) Math.min(drops - reportedDrops, 0xFFFFFFF), 0))
+                       .putInt((int) (System.currentTimeMillis() - startMillis));
+                    reportedDrops = drops;
+                }
+                flush(buf);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            System.err.println("Game journal stopped: " + e);
+            running = false;
+        } finally {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // nothing left to save
+            }
+        }
+    }
+
+    private void flush(ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining())
+            out.write(buf);
+        buf.clear();
+    }
+
+    private void put(ByteBuffer buf, byte[] bytes) throws IOException {
+        if (buf.remaining() >= bytes.length) {
+            buf.put(bytes);
+            return;
+        }
+        flush(buf);
+        ByteBuffer big = ByteBuffer.wrap(bytes);
+        while (big.hasRemaining())
+            out.write(big);
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Lets the writer finish what is queued, then syncs and closes the file.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //------Replay----------------
+    public static record ReplayedGame(WordSearchGameGUI.WordSearchGame game, int events, long lastMillis, long eventsLost) {
+    }
+
+    // Every game in the journal, rebuilt action by action. Throws if the rebuilt game ever disagrees
+    // with a recorded outcome or score; a game with a GAP is only rebuilt up to the gap.
+    public static List<ReplayedGame> replay(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (in.remaining() < HEADER || in.getInt() != MAGIC || in.getShort() != VERSION)
+            throw new IOException("Not a game journal: " + file);
+        in.getLong(); // start time
+        List<ReplayedGame> games = new ArrayList<>();
+        WordSearchGameGUI.WordSearchGame game = null;
+        List<WordSearchGameGUI.Coord> path = new ArrayList<>();
+        int events = 0, n = 0;
+        long millis = 0, lost = 0;
+        while (in.remaining() >= RECORD) {
+            long e = in.getLong();
+            int stamp = in.getInt();
+            n++;
+            if (type(e) == START) {
+                if (game != null)
+                    games.add(new ReplayedGame(game, events, millis, lost));
+                byte[] snap = new byte[a(e)];
+                if (in.remaining() < snap.length)
+                    break; // torn last record
+                in.get(snap);
+                game = GameSnapshot.read(snap);
+                path.clear();
+                events = 0;
+                lost = 0;
+                millis = stamp;
+                continue;
+            }
+            if (type(e) == GAP) {
+                lost += a(e);
+                continue;
+            }
+            if (game == null)
+                throw new IOException("Event " + n + " before any game started");
+            events++;
+            millis = stamp;
+            if (lost > 0)
+                continue; // actions went missing, so the rest of this game cannot be rebuilt exactly
+            switch (type(e)) {
+                case SELECT -> path.add(new WordSearchGameGUI.Coord(a(e), b(e)));
+                case DESELECT -> {
+                    if (!path.isEmpty())
+                        path.remove(path.size() - 1);
+                }
+                case CLEAR -> path.clear();
+                case SUBMIT -> {
+                    String word = game.wordAt(path);
+                    WordSearchGameGUI.WordSearchGame.Outcome o = game.submit(word == null ? "" : word, new ArrayList<>(path));
+                    check(n, o.ordinal() == a(e) && game.getScore() == b(e), "submit of " + word + " gave " + o + ", score " + game.getScore());
+                }
+                case UNDO -> {
+                    String undone = game.undoLast();
+                    int id = undone == null ? -1 : game.getWordId(undone);
+                    check(n, id + 1 == a(e) && game.getScore() == b(e), "undo gave " + undone + ", score " + game.getScore());
+                }
+                case REDO -> {
+                    String redone = game.redo();
+                    int id = redone == null ? -1 : game.getWordId(redone);
+                    check(n, id + 1 == a(e) && game.getScore() == b(e), "redo gave " + redone + ", score " + game.getScore());
+                }
+                case HINT -> {
+                    game.deductScore(WordSearchGameGUI.HINT_COST);
+                    check(n, game.getScore() == b(e), "hint left score " + game.getScore());
+                }
+                default -> throw new IOException("Unknown event type " + type(e) + " at event " + n);
+            }
+        }
+        if (game != null)
+            games.add(new ReplayedGame(game, events, millis, lost));
+        return games;
+    }
+
+    private static void check(int n, boolean ok, String what) throws IOException {
+        if (!ok)
+            throw new IOException("Replay diverges at event " + n + ": " + what);
+    }
+
+    //------CLI: <journal file>----------------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: GameJournal <journal file>");
+            System.exit(2);
+        }
+        for (ReplayedGame g : replay(Paths.get(args[0]))) {
+            WordSearchGameGUI.WordSearchGame game = g.game();
+            System.out.printf("%s: score %d, %d/%d words, %d actions over %.1f s%s%n", game.getPlayerName(), game.getScore(),
+                    game.getFoundList().size(), game.getWordsToPlace().length, g.events(), g.lastMillis() / 1000.0,
+                    g.eventsLost() > 0 ? " (" + g.eventsLost() + " actions lost)" : "");
+        }
+    }
+}
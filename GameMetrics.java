@@ -0,0 +1,243 @@
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.*;
+
+// Process-wide counters and latency histograms for the game's hot paths, plus matching JFR events.
+// Recording is a few LongAdder increments, so it stays on in production; the JFR events only cost
+// anything while a recording is running (java -XX:StartFlightRecording ...), and then show where the
+// EDT was blocked and which generations dropped words.
+public final class GameMetrics {
+
+    public enum Op { SUBMIT, UNDO, REFRESH_WORD_LIST, GENERATION }
+
+    private static final EnumMap<Op, Histogram> LATENCY = new EnumMap<>(Op.class);
+    private static final EnumMap<WordSearchGameGUI.WordSearchGame.Outcome, LongAdder> OUTCOMES = new EnumMap<>(WordSearchGameGUI.WordSearchGame.Outcome.class);
+    private static final EnumMap<WordSearchGameGUI.WordSearchGame.Outcome, Histogram> SUBMIT_BY_OUTCOME = new EnumMap<>(WordSearchGameGUI.WordSearchGame.Outcome.class);
+    private static final LongAdder UNDONE = new LongAdder();
+    private static final LongAdder UNDO_EMPTY = new LongAdder();
+    private static final LongAdder GENERATIONS = new LongAdder();
+    private static final LongAdder WORDS_PLACED = new LongAdder();
+    private static final LongAdder WORDS_DROPPED = new LongAdder();
+    private static final LongAdder PLACEMENT_ATTEMPTS = new LongAdder();
+    private static final Histogram ATTEMPTS_PER_WORD = new Histogram();
+
+    static {
+        for (Op op : Op.values())
+            LATENCY.put(op, new Histogram());
+        for (WordSearchGameGUI.WordSearchGame.Outcome o : WordSearchGameGUI.WordSearchGame.Outcome.values()) {
+            OUTCOMES.put(o, new LongAdder());
+            SUBMIT_BY_OUTCOME.put(o, new Histogram());
+        }
+    }
+
+    private GameMetrics() {
+    }
+
+    //------Recording----------------
+    public static void submit(WordSearchGameGUI.WordSearchGame.Outcome outcome, int wordLength, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        OUTCOMES.get(outcome).increment();
+        LATENCY.get(Op.SUBMIT).record(nanos);
+        SUBMIT_BY_OUTCOME.get(outcome).record(nanos);
+        SubmitEvent e = new SubmitEvent();
+        if (e.shouldCommit()) {
+            e.outcome = outcome.name();
+            e.wordLength = wordLength;
+            e.nanos = nanos;
+            e.commit();
+        }
+    }
+
+    public static void undo(boolean undone, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        (undone ? UNDONE : UNDO_EMPTY).increment();
+        LATENCY.get(Op.UNDO).record(nanos);
+        UndoEvent e = new UndoEvent();
+        if (e.shouldCommit()) {
+            e.undone = undone;
+            e.nanos = nanos;
+            e.commit();
+        }
+    }
+
+    public static void refreshWordList(int rows, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        LATENCY.get(Op.REFRESH_WORD_LIST).record(nanos);
+        RefreshWordListEvent e = new RefreshWordListEvent();
+        if (e.shouldCommit()) {
+            e.rows = rows;
+            e.nanos = nanos;
+            e.commit();
+        }
+    }
+
+    public static void wordPlaced(long attempts) {
+        ATTEMPTS_PER_WORD.record(attempts);
+    }
+
+    public static void generation(int rows, int cols, int words, int placed, long attempts, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        GENERATIONS.increment();
+        WORDS_PLACED.add(placed);
+        WORDS_DROPPED.add(words - placed);
+        PLACEMENT_ATTEMPTS.add(attempts);
+        LATENCY.get(Op.GENERATION).record(nanos);
+        GenerationEvent e = new GenerationEvent();
+        if (e.shouldCommit()) {
+            e.rows = rows;
+            e.cols = cols;
+            e.words = words;
+            e.dropped = words - placed;
+            e.attempts = attempts;
+            e.nanos = nanos;
+            e.commit();
+        }
+    }
+
+    //------Reading----------------
+    // Latencies are in nanoseconds; attemptsPerWord counts slots tried.
+    public static record Summary(long count, long mean, long p50, long p99, long max) {
+    }
+
+    public static record Snapshot(Map<WordSearchGameGUI.WordSearchGame.Outcome, Long> submits,
+                                  Map<WordSearchGameGUI.WordSearchGame.Outcome, Summary> submitLatency,
+                                  Map<Op, Summary> latency, long undone, long undoEmpty, long generations,
+                                  long wordsPlaced, long wordsDropped, long placementAttempts, Summary attemptsPerWord) {
+
+        public List<String> lines() {
+            List<String> out = new ArrayList<>();
+            for (Map.Entry<Op, Summary> e : latency.entrySet())
+                out.add(format(e.getKey().name().toLowerCase(), e.getValue()));
+            for (Map.Entry<WordSearchGameGUI.WordSearchGame.Outcome, Summary> e : submitLatency.entrySet())
+                if (e.getValue().count() > 0)
+                    out.add(format("submit." + e.getKey().name().toLowerCase(), e.getValue()));
+            out.add("undo undone=" + undone + " empty=" + undoEmpty);
+            out.add("generation runs=" + generations + " placed=" + wordsPlaced + " dropped=" + wordsDropped
+                    + " attempts=" + placementAttempts + " attemptsPerWord.p50=" + attemptsPerWord.p50()
+                    + " p99=" + attemptsPerWord.p99() + " max=" + attemptsPerWord.max());
+            return out;
+        }
+
+        private static String format(String name, Summary l) {
+            return String.format("%s count=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus", name, l.count(),
+                    l.mean() / 1e3, l.p50() / 1e3, l.p99() / 1e3, l.max() / 1e3);
+        }
+    }
+
+    public static Snapshot snapshot() {
+        Map<WordSearchGameGUI.WordSearchGame.Outcome, Long> submits = new EnumMap<>(WordSearchGameGUI.WordSearchGame.Outcome.class);
+        Map<WordSearchGameGUI.WordSearchGame.Outcome, Summary> byOutcome = new EnumMap<>(WordSearchGameGUI.WordSearchGame.Outcome.class);
+        for (WordSearchGameGUI.WordSearchGame.Outcome o : WordSearchGameGUI.WordSearchGame.Outcome.values()) {
+            submits.put(o, OUTCOMES.get(o).sum());
+            byOutcome.put(o, SUBMIT_BY_OUTCOME.get(o).summary());
+        }
+        Map<Op, Summary> latency = new EnumMap<>(Op.class);
+        for (Op op : Op.values())
+            latency.put(op, LATENCY.get(op).summary());
+        return new Snapshot(submits, byOutcome, latency, UNDONE.sum(), UNDO_EMPTY.sum(), GENERATIONS.sum(),
+                WORDS_PLACED.sum(), WORDS_DROPPED.sum(), PLACEMENT_ATTEMPTS.sum(), ATTEMPTS_PER_WORD.summary());
+    }
+
+    // Power-of-two buckets: value v lands in bucket 64 - numberOfLeadingZeros(v). Percentiles report
+    // the bucket's upper bound, which is within 2x of the true value and needs no locking.
+    static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[65];
+        private final LongAdder sum = new LongAdder();
+        private volatile long max;
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        void record(long v) {
+            if (v < 0)
+                v = 0;
+            buckets[64 - Long.numberOfLeadingZeros(v)].increment();
+            sum.add(v);
+            if (v > max)
+                max = v; // racy, but only ever loses a near-simultaneous maximum
+        }
+
+        Summary summary() {
+            long[] b = new long[buckets.length];
+            long n = 0;
+            for (int i = 0; i < b.length; i++)
+                n += b[i] = buckets[i].sum();
+            long m = max;
+            return new Summary(n, n == 0 ? 0 : sum.sum() / n, Math.min(percentile(b, n, 0.50), m), Math.min(percentile(b, n, 0.99), m), m);
+        }
+
+        private static long percentile(long[] b, long n, double p) {
+            if (n == 0)
+                return 0;
+            long rank = (long) Math.ceil(p * n), seen = 0;
+            for (int i = 0; i < b.length; i++) {
+                seen += b[i];
+                if (seen >= rank)
+                    return i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    //------JFR events----------------
+    @Name("wordsearch.Submit")
+    @Label("Word Submit")
+    @Category("Word Search")
+    @StackTrace(false)
+    static class SubmitEvent extends Event {
+        @Label("Outcome")
+        String outcome;
+        @Label("Word Length")
+        int wordLength;
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("wordsearch.Undo")
+    @Label("Undo")
+    @Category("Word Search")
+    @StackTrace(false)
+    static class UndoEvent extends Event {
+        @Label("Undone")
+        boolean undone;
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("wordsearch.RefreshWordList")
+    @Label("Refresh Word List")
+    @Category("Word Search")
+    @StackTrace(false)
+    static class RefreshWordListEvent extends Event {
+        @Label("Rows")
+        int rows;
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+
+    @Name("wordsearch.Generation")
+    @Label("Puzzle Generation")
+    @Category("Word Search")
+    @StackTrace(false)
+    static class GenerationEvent extends Event {
+        @Label("Rows")
+        int rows;
+        @Label("Columns")
+        int cols;
+        @Label("Words")
+        int words;
+        @Label("Words Dropped")
+        int dropped;
+        @Label("Placement Attempts")
+        long attempts;
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long nanos;
+    }
+}
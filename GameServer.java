@@ -0,0 +1,335 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless game host. Every TCP connection gets its own WordSearchGame (score, FoundList, undo/redo history)
+// and one session thread that reads commands off a blocking SocketChannel. The build targets Java 17,
+// which has no virtual threads, so there each session is a platform thread from a cached pool. Run on
+// Java 21+, the same jar looks up newVirtualThreadPerTaskExecutor and makes the session threads virtual,
+// so an idle connection costs a few KB instead of a platform stack.
+//
+// Line protocol (one command per line, replies end with a line of their own):
+//   NEW [rows cols [seed]]    -> GRID rows cols / <rows lines of letters> / WORDS w1 w2 ...
+//   NAME name                 -> OK
+//   SUBMIT r,c r,c ...        -> FOUND word score | MISS outcome word score
+//   UNDO                      -> UNDONE word score | NOTHING score
+//   REDO                      -> REDONE word score | NOTHING score
+//   JUMP n                    -> AT n of total score   (n found-word moves in effect, 0 = none)
+//   SCORE                     -> SCORE n
+//   SAVE                      -> RANK n
+//   TOP k                     -> k lines "rank name score", then END
+//   SUSPEND                   -> TOKEN id   (game written to disk and dropped from memory)
+//   RESUME id                 -> GRID ... / WORDS ... as for NEW, then SCORE n
+//   STATS                     -> GameMetrics snapshot lines, then END
+//   QUIT                      -> BYE
+// Anything else -> ERR message.
+public class GameServer implements Closeable {
+
+    public static final int DEFAULT_PORT = 7777;
+    private static final int MAX_LINE = 64 * 1024;
+    private static final java.security.SecureRandom TOKENS = new java.security.SecureRandom();
+    private static final long TOP_MAX_AGE_MILLIS = 250; // TOP may be this stale rather than re-sort on every SAVE
+
+    private final ServerSocketChannel server;
+    private final Path suspendDir;
+    private final ExecutorService sessions = sessionExecutor();
+    private final ConcurrentLeaderboard leaderboard = new ConcurrentLeaderboard();
+    private final PuzzleCache puzzles = new PuzzleCache();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong served = new AtomicLong();
+    private volatile boolean running = true;
+
+    public GameServer(int port) throws IOException {
+        this(port, Paths.get("sessions"));
+    }
+
+    public GameServer(int port, Path suspendDir) throws IOException {
+        this.suspendDir = suspendDir;
+        puzzles.prefetch(WordSearchGameGUI.WordSearchGame.DEFAULT_ROWS, WordSearchGameGUI.WordSearchGame.DEFAULT_COLS, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS);
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 4096);
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) server.socket().getLocalSocketAddress()).getPort();
+    }
+    public int getActiveSessions() {
+        return active.get();
+    }
+    public long getSessionsServed() {
+        return served.get();
+    }
+
+    public Thread start() {
+        Thread t = new Thread(this::serve, "game-server-accept");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    public void serve() {
+        while (running) {
+            try {
+                SocketChannel ch = server.accept();
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                sessions.execute(new Session(ch));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (running)
+                    System.err.println("accept failed: " + e);
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        sessions.shutdownNow();
+        puzzles.close();
+    }
+
+    private static ExecutorService sessionExecutor() {
+        try { // Java 21+: one virtual thread per session; not found on Java 17, the build's target
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "game-session");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    //------One connection----------------
+    private class Session implements Runnable {
+        private final SocketChannel ch;
+        private final ByteBuffer in = ByteBuffer.allocate(4096);
+        private byte[] line = new byte[256];
+        private int lineLen = 0;
+        private final StringBuilder out = new StringBuilder();
+        private WordSearchGameGUI.WordSearchGame game;
+
+        Session(SocketChannel ch) {
+            this.ch = ch;
+        }
+
+        @Override
+        public void run() {
+            active.incrementAndGet();
+            served.incrementAndGet();
+            try (ch) {
+                in.flip();
+                String cmd;
+                while ((cmd = readLine()) != null) {
+                    boolean more = handle(cmd.trim());
+                    flush();
+                    if (!more)
+                        break;
+                }
+            } catch (IOException e) {
+                // client went away
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        private boolean handle(String cmd) {
+            String[] parts = cmd.split("\\s+");
+            String op = parts[0].toUpperCase();
+            try {
+                switch (op) {
+                    case "NEW" -> newGame(parts);
+                    case "NAME" -> {
+                        String name = cmd.substring(parts[0].length()).trim();
+                        if (name.isEmpty())
+                            throw new IllegalArgumentException("NAME needs a name");
+                        requireGame().setPlayerName(name);
+                        reply("OK");
+                    }
+                    case "SUBMIT" -> submit(parts);
+                    case "UNDO" -> {
+                        String undone = requireGame().undoLast();
+                        reply(undone == null ? "NOTHING " + game.getScore() : "UNDONE " + undone + " " + game.getScore());
+                    }
+                    case "REDO" -> {
+                        String redone = requireGame().redo();
+                        reply(redone == null ? "NOTHING " + game.getScore() : "REDONE " + redone + " " + game.getScore());
+                    }
+                    case "JUMP" -> {
+                        requireGame().jumpTo(Integer.parseInt(parts[1]));
+                        reply("AT " + game.getHistory().position() + " of " + game.getHistory().size() + " " + game.getScore());
+                    }
+                    case "SCORE" -> reply("SCORE " + requireGame().getScore());
+                    case "SAVE" -> {
+                        requireGame();
+                        leaderboard.insert(game.getPlayerName(), game.getScore());
+                        reply("RANK " + leaderboard.rank(game.getPlayerName()));
+                    }
+                    case "TOP" -> {
+                        int k = parts.length > 1 ? Integer.parseInt(parts[1]) : 10;
+                        for (WordSearchGameGUI.WordSearchGame.ScoreTree.Entry e : leaderboard.snapshot(TOP_MAX_AGE_MILLIS).range(0, k))
+                            reply(e.rank() + " " + e.name() + " " + e.score());
+                        reply("END");
+                    }
+                    case "STATS" -> {
+                        for (String s : GameMetrics.snapshot().lines())
+                            reply(s);
+                        reply("END");
+                    }
+                    case "SUSPEND" -> suspend();
+                    case "RESUME" -> resume(parts[1]);
+                    case "QUIT" -> {
+                        reply("BYE");
+                        return false;
+                    }
+                    case "" -> {
+                    }
+                    default -> reply("ERR unknown command " + op);
+                }
+            } catch (RuntimeException e) { // one bad command must not take the session down
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                reply("ERR " + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+            } catch (IOException e) {
+                reply("ERR " + e.getMessage());
+            }
+            return true;
+        }
+
+        //------Eviction: a suspended game lives only in its snapshot file----------------
+        private void suspend() throws IOException {
+            requireGame();
+            Files.createDirectories(suspendDir);
+            String token = Long.toHexString(TOKENS.nextLong() & Long.MAX_VALUE);
+            GameSnapshot.save(game, suspendDir.resolve(token + ".wsgs"));
+            game = null;
+            reply("TOKEN " + token);
+        }
+
+        private void resume(String token) throws IOException {
+            if (!token.matches("[0-9a-f]{1,16}"))
+                throw new IllegalArgumentException("bad token");
+            Path file = suspendDir.resolve(token + ".wsgs");
+            if (!Files.exists(file))
+                throw new IllegalArgumentException("unknown token " + token);
+            game = GameSnapshot.load(file);
+            Files.delete(file);
+            sendGrid();
+            reply("SCORE " + game.getScore());
+        }
+
+        private void newGame(String[] parts) {
+            int rows = parts.length > 2 ? Integer.parseInt(parts[1]) : WordSearchGameGUI.WordSearchGame.DEFAULT_ROWS;
+            int cols = parts.length > 2 ? Integer.parseInt(parts[2]) : WordSearchGameGUI.WordSearchGame.DEFAULT_COLS;
+            String[] words = WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS;
+            long seed = parts.length > 3 ? Long.parseLong(parts[3]) : puzzles.takeSeed(rows, cols, words);
+            String name = game == null ? null : game.getPlayerName();
+            WordSearchGameGUI.WordSearchGame next = puzzles.newGame(rows, cols, words, seed);
+            if (!next.getUnplacedWords().isEmpty()) // a player should not chase words that are not on the grid
+                throw new IllegalStateException("only " + next.getWordsToPlace().length + " of " + words.length
+                        + " words fit a " + rows + "x" + cols + " grid; try a bigger one");
+            game = next;
+            if (name != null)
+                game.setPlayerName(name);
+            sendGrid();
+        }
+
+        private void sendGrid() {
+            reply("GRID " + game.getRows() + " " + game.getCols());
+            for (char[] row : game.getGrid())
+                out.append(row).append('\n');
+            out.append("WORDS");
+            for (String w : game.getWordsToPlace())
+                out.append(' ').append(w);
+            out.append('\n');
+        }
+
+        private void submit(String[] parts) {
+            requireGame();
+            List<WordSearchGameGUI.Coord> path = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                int comma = parts[i].indexOf(',');
+                if (comma < 0)
+                    throw new IllegalArgumentException("bad cell " + parts[i]);
+                path.add(new WordSearchGameGUI.Coord(Integer.parseInt(parts[i].substring(0, comma)), Integer.parseInt(parts[i].substring(comma + 1))));
+            }
+            String word = game.wordAt(path);
+            if (word == null)
+                throw new IllegalArgumentException("path leaves the grid");
+            WordSearchGameGUI.WordSearchGame.Outcome o = game.submit(word, path);
+            if (o == WordSearchGameGUI.WordSearchGame.Outcome.FOUND)
+                reply("FOUND " + word + " " + game.getScore());
+            else
+                reply("MISS " + o + " " + word + " " + game.getScore());
+        }
+
+        private WordSearchGameGUI.WordSearchGame requireGame() {
+            if (game == null)
+                throw new IllegalStateException("no game, send NEW first");
+            return game;
+        }
+
+        private void reply(String s) {
+            out.append(s).append('\n');
+        }
+
+        private void flush() throws IOException {
+            if (out.length() == 0)
+                return;
+            ByteBuffer buf = StandardCharsets.UTF_8.encode(out.toString());
+            out.setLength(0);
+            while (buf.hasRemaining())
+                ch.write(buf);
+        }
+
+        // Next '\n'-terminated line from the channel, or null at end of stream.
+        private String readLine() throws IOException {
+            while (true) {
+                while (in.hasRemaining()) {
+                    byte b = in.get();
+                    if (b == '\n')
+                        return takeLine();
+                    if (b == '\r')
+                        continue;
+                    if (lineLen == line.length) {
+                        if (lineLen >= MAX_LINE)
+                            throw new IOException("line too long");
+                        line = Arrays.copyOf(line, lineLen * 2);
+                    }
+                    line[lineLen++] = b;
+                }
+                in.clear();
+                int n = ch.read(in);
+                in.flip();
+                if (n < 0)
+                    return lineLen > 0 ? takeLine() : null;
+            }
+        }
+
+        private String takeLine() {
+            String s = new String(line, 0, lineLen, StandardCharsets.UTF_8);
+            lineLen = 0;
+            return s;
+        }
+    }
+
+    //------CLI: [port]----------------
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameServer s = new GameServer(port);
+        System.out.println("Word search server listening on port " + s.getPort());
+        s.serve();
+    }
+}
@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+
+// Compact binary save/resume of one WordSearchGame, small enough to evict idle server sessions to disk.
+//
+//   int magic "WSGS", short version
+//   short rows, short cols, rows*cols bytes (letter 0-25, 26 = empty)
+//   short words, per word: byte length, ASCII letters, short row, short col, byte dir
+//   int score, short name length + UTF-8 name
+//   short moves, short position, per move its packed MoveHistory long, oldest first
+//
+// The found list is rebuilt from the first position moves (the ones in effect); the rest are the redo
+// tail. Keeping the moves themselves keeps each one's score delta, so an undo after resuming takes back
+// exactly what it would have before. Version 1 files, which kept only found word IDs, still load.
+public final class GameSnapshot {
+
+    private static final int MAGIC = 0x57534753; // "WSGS"
+    private static final short VERSION = 2;
+    private static final short VERSION_IDS = 1; // found word IDs instead of moves
+
+    private GameSnapshot() {
+    }
+
+    public static byte[] write(WordSearchGameGUI.WordSearchGame game) {
+        int rows = game.getRows(), cols = game.getCols();
+        String[] words = game.getWordsToPlace();
+        byte[] name = game.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        MoveHistory history = game.getHistory();
+        int size = 4 + 2 + 4 + rows * cols + 2 + 4 + 2 + name.length + 2 + 2 + 8 * history.size();
+        for (String w : words) {
+            if (w.length() > 255)
+                throw new IllegalArgumentException("Word too long for a snapshot: " + w.length() + " letters");
+            size += 1 + w.length() + 5;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(MAGIC).putShort(VERSION);
+        buf.putShort((short) rows).putShort((short) cols);
+        char[][] grid = game.getGrid();
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++) {
+                int k = grid[r][c] - 'A';
+                buf.put((byte) (k >= 0 && k < 26 ? k : 26));
+            }
+        buf.putShort((short) words.length);
+        for (String w : words) {
+            PuzzleGenerator.Placement p = game.getPlacement(w);
+            buf.put((byte) w.length());
+            for (int i = 0; i < w.length(); i++)
+                buf.put((byte) w.charAt(i));
+            buf.putShort((short) p.row()).putShort((short) p.col()).put((byte) p.dir());
+        }
+        buf.putInt(game.getScore());
+        buf.putShort((short) name.length).put(name);
+        buf.putShort((short) history.size()).putShort((short) history.position());
+        for (int i = 0; i < history.size(); i++)
+            buf.putLong(history.get(i));
+        return buf.array();
+    }
+
+    public static WordSearchGameGUI.WordSearchGame read(byte[] data) throws IOException {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            if (buf.getInt() != MAGIC)
+                throw new IOException("Not a game snapshot");
+            short version = buf.getShort();
+            if (version != VERSION && version != VERSION_IDS)
+                throw new IOException("Unsupported snapshot version " + version);
+            int rows = buf.getShort() & 0xFFFF, cols = buf.getShort() & 0xFFFF;
+            if (rows > PuzzleGenerator.MAX_SIZE || cols > PuzzleGenerator.MAX_SIZE || rows * cols > buf.remaining())
+                throw new IOException("Bad grid size " + rows + "x" + cols);
+            char[][] grid = new char[rows][cols];
+            for (int r = 0; r < rows; r++)
+                for (int c = 0; c < cols; c++) {
+                    int k = buf.get();
+                    if (k < 0 || k > 26)
+                        throw new IOException("Bad letter " + k + " at " + r + "," + c);
+                    grid[r][c] = k == 26 ? PuzzleGenerator.EMPTY : (char) ('A' + k);
+                }
+            int n = buf.getShort() & 0xFFFF;
+            List<PuzzleGenerator.Placement> placements = new ArrayList<>(n);
+            char[] letters = new char[256];
+            for (int i = 0; i < n; i++) {
+                int len = buf.get() & 0xFF;
+                for (int j = 0; j < len; j++)
+                    letters[j] = (char) buf.get();
+                PuzzleGenerator.Placement p = new PuzzleGenerator.Placement(new String(letters, 0, len), buf.getShort(), buf.getShort(), buf.get());
+                checkPlacement(p, rows, cols);
+                placements.add(p);
+            }
+            int score = buf.getInt();
+            byte[] name = new byte[buf.getShort() & 0xFFFF];
+            buf.get(name);
+            WordSearchGameGUI.WordSearchGame game = new WordSearchGameGUI.WordSearchGame(grid, placements, new Random());
+            game.setPlayerName(new String(name, StandardCharsets.UTF_8));
+            BitSet seen = new BitSet(n);
+            if (version == VERSION_IDS) {
+                int[] found = new int[buf.getShort() & 0xFFFF];
+                for (int i = 0; i < found.length; i++) {
+                    found[i] = buf.getShort() & 0xFFFF;
+                    if (found[i] >= n || seen.get(found[i]))
+                        throw new IOException("Bad word ID " + found[i]);
+                    seen.set(found[i]);
+                }
+                game.restoreProgress(found, score);
+                return game;
+            }
+            long[] moves = new long[buf.getShort() & 0xFFFF];
+            int position = buf.getShort() & 0xFFFF;
+            if (position > moves.length)
+                throw new IOException("History position " + position + " past its " + moves.length + " moves");
+            for (int i = 0; i < moves.length; i++) {
+                long m = buf.getLong();
+                int id = MoveHistory.wordId(m);
+                if (id >= n || seen.get(id) || MoveHistory.length(m) != placements.get(id).length()
+                        || MoveHistory.row(m) >= rows || MoveHistory.col(m) >= cols || MoveHistory.scoreDelta(m) < 0)
+                    throw new IOException("Bad move " + Long.toHexString(m));
+                seen.set(id); // a word is found at most once, in effect or in the redo tail
+                moves[i] = m;
+            }
+            game.restoreHistory(moves, position, score);
+            return game;
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IOException("Truncated game snapshot", e);
+        }
+    }
+
+    // Everything later reads the grid along placements, so a crafted file must not point outside it.
+    private static void checkPlacement(PuzzleGenerator.Placement p, int rows, int cols) throws IOException {
+        int len = p.length(), dir = p.dir();
+        boolean ok = len > 0 && dir >= 0 && dir < 8 && p.row() >= 0 && p.row() < rows && p.col() >= 0 && p.col() < cols;
+        if (ok) {
+            int rEnd = p.row() + PuzzleGenerator.DR[dir] * (len - 1), cEnd = p.col() + PuzzleGenerator.DC[dir] * (len - 1);
+            ok = rEnd >= 0 && rEnd < rows && cEnd >= 0 && cEnd < cols;
+        }
+        if (!ok)
+            throw new IOException("Placement of \"" + p.word() + "\" at " + p.row() + "," + p.col() + "," + dir + " is off the " + rows + "x" + cols + " grid");
+    }
+
+    public static void save(WordSearchGameGUI.WordSearchGame game, Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, write(game));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static WordSearchGameGUI.WordSearchGame load(Path file) throws IOException {
+        return read(Files.readAllBytes(file));
+    }
+}
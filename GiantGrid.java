@@ -0,0 +1,363 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A board far larger than the heap (100k x 100k and up), cut into TILE x TILE tiles that are generated
+// the first time anything reads them and kept in a memory-mapped file, one byte per cell:
+//
+//   header (magic, version, rows, cols, tile, seed, words hash) | bitmap of generated tiles | tile slots
+//
+// The file is sparse: a tile slot takes disk space only once the tile is written. Tile slots are mapped
+// in chunks on first use, so only the pages of tiles that were looked at ever become resident.
+//
+// Words are not planned per tile but per block: blocks are TILE x TILE too, but offset by half a tile
+// in both directions, so every block straddles the corner of four tiles and its words cross tile
+// boundaries. A block's placements depend only on its own seed, and blocks never overlap, so a tile is
+// built from its own filler seed plus the words of the four blocks over it, whatever order tiles are
+// generated in. Filler letters are not checked for stray copies of words; find() reports every copy.
+public class GiantGrid implements Closeable {
+
+    public static final int TILE = 256;
+    private static final int HALF = TILE / 2;
+    private static final int TILE_BYTES = TILE * TILE;
+    private static final int CHUNK_TILES = 1 << 12; // tile slots per mapping (256 MB)
+    private static final int MAGIC = 0x57534747; // "WSGG"
+    private static final int VERSION = 1;
+    private static final int HEADER = 40;
+    private static final int PLAN_CACHE = 64; // block plans kept; a tile needs four, neighbours share them
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+    private final String[] words;
+    private final int tileRows;
+    private final int tileCols;
+    private final FileChannel file;
+    private final MappedByteBuffer header; // header + bitmap
+    private final long dataStart;
+    private final MappedByteBuffer[] chunks;
+    private final AtomicLongArray ready; // heap copy of the bitmap; a set bit means the tile's bytes are written
+    private final Object[] locks = new Object[64]; // by bitmap byte, so two tiles sharing a byte never race on it
+    private final LinkedHashMap<Long, List<PuzzleGenerator.Placement>> plans = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<PuzzleGenerator.Placement>> eldest) {
+            return size() > PLAN_CACHE;
+        }
+    };
+    private long generated = 0;
+
+    private GiantGrid(Path path, int rows, int cols, long seed, String[] words) throws IOException {
+        if (rows < 1 || cols < 1)
+            throw new IllegalArgumentException("Bad giant grid size " + rows + "x" + cols);
+        for (String w : words)
+            if (w.length() > HALF)
+                throw new IllegalArgumentException("\"" + w + "\" is longer than a block side of " + HALF);
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+        this.words = words.clone();
+        this.tileRows = (rows + TILE - 1) / TILE;
+        this.tileCols = (cols + TILE - 1) / TILE;
+        long tiles = (long) tileRows * tileCols;
+        if (tiles > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many tiles for " + rows + "x" + cols);
+        int bitmapBytes = (int) ((tiles + 7) / 8);
+        this.dataStart = (HEADER + bitmapBytes + TILE_BYTES - 1) / TILE_BYTES * (long) TILE_BYTES;
+        for (int i = 0; i < locks.length; i++)
+            locks[i] = new Object();
+
+        boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+        this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = dataStart + tiles * TILE_BYTES;
+            if (file.size() < size)
+                file.write(ByteBuffer.wrap(new byte[1]), size - 1); // sparse: nothing in between is allocated
+            this.header = file.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + bitmapBytes);
+            if (fresh) {
+                header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, rows).putInt(12, cols).putInt(16, TILE)
+                      .putLong(20, seed).putLong(28, wordsHash(words));
+            } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != rows
+                    || header.getInt(12) != cols || header.getInt(16) != TILE || header.getLong(20) != seed
+                    || header.getLong(28) != wordsHash(words)) {
+                throw new IOException("Giant grid file " + path + " was made for a different board");
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+        this.chunks = new MappedByteBuffer[(int) ((tiles + CHUNK_TILES - 1) / CHUNK_TILES)];
+        this.ready = new AtomicLongArray((int) ((tiles + 63) / 64));
+        for (int t = 0; t < tiles; t++)
+            if ((header.get(HEADER + (t >>> 3)) & 1 << (t & 7)) != 0)
+                ready.set(t >>> 6, ready.get(t >>> 6) | 1L << t);
+    }
+
+    // Opens the board stored in path, or starts it there; a file made for other parameters is refused.
+    public static GiantGrid open(Path path, int rows, int cols, long seed, String[] words) throws IOException {
+        return new GiantGrid(path, rows, cols, seed, words);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+    public int getCols() {
+        return cols;
+    }
+    public long getSeed() {
+        return seed;
+    }
+    // Tiles this instance had to generate, as opposed to tiles found ready in the file.
+    public synchronized long getTilesGenerated() {
+        return generated;
+    }
+    public long getTilesOnDisk() {
+        long n = 0;
+        for (int i = 0; i < ready.length(); i++)
+            n += Long.bitCount(ready.get(i));
+        return n;
+    }
+
+    //------Reading cells----------------
+    public char letter(int r, int c) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols)
+            throw new IndexOutOfBoundsException("(" + r + ", " + c + ") is off the " + rows + "x" + cols + " board");
+        int t = (r / TILE) * tileCols + c / TILE;
+        return (char) tile(t).get(slot(t) + (r % TILE) * TILE + c % TILE);
+    }
+
+    // Fills out with the cells from (r0, c0); cells off the board are left as PuzzleGenerator.EMPTY.
+    // Only the tiles under the region are read (and generated if new).
+    public void copy(int r0, int c0, char[][] out) {
+        copy(r0, c0, out, true);
+    }
+
+    // As copy(), but never generates: cells of tiles that are not ready yet are left EMPTY as well.
+    // Returns false if any were, so a caller on the EDT can paint now and prepare() the rest elsewhere.
+    public boolean copyReady(int r0, int c0, char[][] out) {
+        return copy(r0, c0, out, false);
+    }
+
+    // Generates every tile under rows [r0, r1) x cols [c0, c1) that is not ready yet.
+    public void prepare(int r0, int c0, int r1, int c1) {
+        int rFrom = Math.max(0, r0), rTo = Math.min(rows, r1);
+        int cFrom = Math.max(0, c0), cTo = Math.min(cols, c1);
+        for (int tr = rFrom / TILE; tr * TILE < rTo; tr++)
+            for (int tc = cFrom / TILE; tc * TILE < cTo; tc++)
+                tile(tr * tileCols + tc);
+    }
+
+    private boolean copy(int r0, int c0, char[][] out, boolean generate) {
+        boolean complete = true;
+        int h = out.length, w = h == 0 ? 0 : out[0].length;
+        for (char[] row : out)
+            Arrays.fill(row, PuzzleGenerator.EMPTY);
+        int rFrom = Math.max(0, r0), rTo = Math.min(rows, r0 + h);
+        int cFrom = Math.max(0, c0), cTo = Math.min(cols, c0 + w);
+        for (int tr = rFrom / TILE; tr * TILE < rTo; tr++)
+            for (int tc = cFrom / TILE; tc * TILE < cTo; tc++) {
+                int t = tr * tileCols + tc;
+                if (!generate && !isReady(t)) {
+                    complete = false;
+                    continue;
+                }
+                ByteBuffer buf = tile(t);
+                int base = slot(t);
+                int ra = Math.max(rFrom, tr * TILE), rb = Math.min(rTo, (tr + 1) * TILE);
+                int ca = Math.max(cFrom, tc * TILE), cb = Math.min(cTo, (tc + 1) * TILE);
+                for (int r = ra; r < rb; r++) {
+                    int at = base + (r - tr * TILE) * TILE - tc * TILE;
+                    char[] row = out[r - r0];
+                    for (int c = ca; c < cb; c++)
+                        row[c - c0] = (char) buf.get(at + c);
+                }
+            }
+        return complete;
+    }
+
+    //------Search over a region----------------
+    // Every copy of word that starts inside rows [r0, r1) x cols [c0, c1); it may run out of the region.
+    public List<GridSolver.Hit> find(String word, int r0, int c0, int r1, int c1) {
+        List<GridSolver.Hit> out = new ArrayList<>();
+        String w = word.toUpperCase();
+        if (w.isEmpty())
+            return out;
+        int m = w.length() - 1; // a copy starting in the region reaches at most this far out of it
+        char[][] area = new char[Math.max(0, r1 - r0) + 2 * m][Math.max(0, c1 - c0) + 2 * m];
+        copy(r0 - m, c0 - m, area);
+        for (int r = m; r < area.length - m; r++)
+            for (int c = m; c < area[r].length - m; c++) {
+                if (area[r][c] != w.charAt(0))
+                    continue;
+                for (int dir = 0; dir < 8; dir++) {
+                    int k = 1;
+                    while (k < w.length() && area[r + PuzzleGenerator.DR[dir] * k][c + PuzzleGenerator.DC[dir] * k] == w.charAt(k))
+                        k++;
+                    if (k == w.length())
+                        out.add(new GridSolver.Hit(w, r0 + r - m, c0 + c - m, dir));
+                    if (w.length() == 1)
+                        break; // one cell reads the same in every direction
+                }
+            }
+        return out;
+    }
+
+    // The planned words that start inside the region; answered from the block plans, no tile is read.
+    public List<PuzzleGenerator.Placement> placementsIn(int r0, int c0, int r1, int c1) {
+        List<PuzzleGenerator.Placement> out = new ArrayList<>();
+        for (int br = Math.max(0, r0) / TILE; br <= (Math.min(rows, r1) + HALF) / TILE; br++)
+            for (int bc = Math.max(0, c0) / TILE; bc <= (Math.min(cols, c1) + HALF) / TILE; bc++)
+                for (PuzzleGenerator.Placement p : plan(br, bc))
+                    if (p.row() >= r0 && p.row() < r1 && p.col() >= c0 && p.col() < c1)
+                        out.add(p);
+        return out;
+    }
+
+    //------Tiles----------------
+    private int slot(int t) {
+        return (int) ((long) (t % CHUNK_TILES) * TILE_BYTES);
+    }
+
+    private boolean isReady(int t) {
+        return (ready.get(t >>> 6) & 1L << t) != 0;
+    }
+
+    // The chunk holding tile t, once the tile is generated.
+    private ByteBuffer tile(int t) {
+        MappedByteBuffer chunk = chunk(t / CHUNK_TILES);
+        if (!isReady(t))
+            generate(t, chunk);
+        return chunk;
+    }
+
+    private MappedByteBuffer chunk(int k) {
+        synchronized (chunks) {
+            if (chunks[k] == null) {
+                long tiles = (long) tileRows * tileCols;
+                long from = dataStart + (long) k * CHUNK_TILES * TILE_BYTES;
+                long len = Math.min(CHUNK_TILES, tiles - (long) k * CHUNK_TILES) * TILE_BYTES;
+                try {
+                    chunks[k] = file.map(FileChannel.MapMode.READ_WRITE, from, len);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not map giant grid tiles", e);
+                }
+            }
+            return chunks[k];
+        }
+    }
+
+    private void generate(int t, MappedByteBuffer chunk) {
+        synchronized (locks[(t >>> 3) & (locks.length - 1)]) {
+            if (isReady(t))
+                return; // another thread got here first
+            int tr = t / tileCols, tc = t % tileCols, base = slot(t);
+            Random random = new Random(mix(seed, tr, tc, 0));
+            for (int i = 0; i < TILE_BYTES; i++)
+                chunk.put(base + i, (byte) ('A' + random.nextInt(26)));
+            for (int br = tr; br <= tr + 1; br++) // the four blocks over this tile
+                for (int bc = tc; bc <= tc + 1; bc++)
+                    for (PuzzleGenerator.Placement p : plan(br, bc)) {
+                        int r = p.row(), c = p.col();
+                        for (int k = 0; k < p.length(); k++, r += PuzzleGenerator.DR[p.dir()], c += PuzzleGenerator.DC[p.dir()])
+                            if (r / TILE == tr && c / TILE == tc)
+                                chunk.put(base + (r % TILE) * TILE + c % TILE, (byte) p.word().charAt(k));
+                    }
+            chunk.force(base, TILE_BYTES); // on disk before the bitmap says so, or a crash could leave a NUL tile marked done
+            int at = HEADER + (t >>> 3);
+            header.put(at, (byte) (header.get(at) | 1 << (t & 7)));
+            ready.accumulateAndGet(t >>> 6, 1L << t, (a, b) -> a | b); // publishes the tile to readers
+            synchronized (this) {
+                generated++;
+            }
+        }
+    }
+
+    // Word placements of block (br, bc), which covers rows [br * TILE - HALF, br * TILE + HALF) and the
+    // same span of columns, clipped to the board. Depends only on the block's seed.
+    private List<PuzzleGenerator.Placement> plan(int br, int bc) {
+        long key = (long) br << 32 | bc;
+        synchronized (plans) {
+            List<PuzzleGenerator.Placement> p = plans.get(key);
+            if (p != null)
+                return p;
+        }
+        int r0 = Math.max(0, br * TILE - HALF), r1 = Math.min(rows, br * TILE + HALF);
+        int c0 = Math.max(0, bc * TILE - HALF), c1 = Math.min(cols, bc * TILE + HALF);
+        List<PuzzleGenerator.Placement> placed = new ArrayList<>();
+        if (r0 < r1 && c0 < c1) {
+            Random random = new Random(mix(seed, br, bc, 1));
+            int longest = Math.max(r1 - r0, c1 - c0);
+            List<String> fit = new ArrayList<>();
+            for (String w : words)
+                if (w.length() <= longest)
+                    fit.add(w);
+            // a sparse block places every word on its first few tries, long before the time budget matters;
+            // block plans are not puzzles, so they stay out of the generation metrics and JFR events
+            PuzzleGenerator gen = new PuzzleGenerator(r1 - r0, c1 - c0, random);
+            gen.setMetrics(false);
+            for (PuzzleGenerator.Placement p : gen.place(fit.toArray(new String[0])))
+                placed.add(new PuzzleGenerator.Placement(p.word(), p.row() + r0, p.col() + c0, p.dir()));
+        }
+        synchronized (plans) {
+            plans.put(key, placed);
+        }
+        return placed;
+    }
+
+    private static long mix(long seed, int a, int b, int salt) { // SplitMix64 finaliser over the coordinates
+        long z = seed + 0x9E3779B97F4A7C15L * (((long) a << 32 ^ b & 0xFFFFFFFFL) * 4 + salt + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long wordsHash(String[] words) {
+        long h = 1125899906842597L;
+        for (String w : words)
+            h = 31 * h + w.hashCode();
+        return h;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (chunks) {
+            for (MappedByteBuffer chunk : chunks)
+                if (chunk != null)
+                    chunk.force();
+            header.force();
+        }
+        file.close();
+    }
+
+    //------CLI: <file> <rows> <cols> <seed> [row col [word]]----------------
+    // Prints a 20 x 60 window of the board at (row, col), and the copies of word starting in it.
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("usage: GiantGrid <file> <rows> <cols> <seed> [row col [word]]");
+            System.exit(2);
+        }
+        int rows = Integer.parseInt(args[1]);
+        int cols = Integer.parseInt(args[2]);
+        long seed = Long.parseLong(args[3]);
+        int row = args.length > 5 ? Integer.parseInt(args[4]) : 0;
+        int col = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+        try (GiantGrid grid = open(Paths.get(args[0]), rows, cols, seed, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS)) {
+            long start = System.nanoTime();
+            char[][] view = new char[20][60];
+            grid.copy(row, col, view);
+            for (char[] line : view)
+                System.out.println(new String(line).replace(PuzzleGenerator.EMPTY, ' '));
+            if (args.length > 6)
+                for (GridSolver.Hit h : grid.find(args[6], row, col, row + view.length, col + view[0].length))
+                    System.out.println(h.word() + " " + h.row() + "," + h.col() + "," + h.dir());
+            for (PuzzleGenerator.Placement p : grid.placementsIn(row, col, row + view.length, col + view[0].length))
+                System.out.println("planned " + p.word() + " " + p.row() + "," + p.col() + "," + p.dir());
+            System.out.printf("%d tiles generated now, %d on disk of %d, %.1f ms%n", grid.getTilesGenerated(), grid.getTilesOnDisk(),
+                    (long) grid.tileRows * grid.tileCols, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.swing.*;
+
+// Pans over a GiantGrid inside a scroll pane. paintComponent copies only the cells inside the clip
+// out of the grid, so scrolling across a 100k x 100k board reads just the tiles that come into view.
+// Tiles that are not generated yet are never built on the EDT: they paint as blank placeholders while
+// one background thread generates them, and the view repaints once they are ready. "Find" runs on that
+// thread too and searches the visible cells (plus the few cells a word can reach past them).
+public class GiantGridView extends JComponent implements Scrollable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CELL = 20;
+    private static final Color LINE = Color.LIGHT_GRAY;
+    private static final Color HIT = Color.CYAN;
+    private static final Color PENDING = new Color(235, 235, 235);
+
+    private final GiantGrid grid;
+    private final Font font = new Font(Font.MONOSPACED, Font.BOLD, 11);
+    private char[][] cells = new char[0][0]; // reused while the clip keeps its size
+    private List<GridSolver.Hit> hits = List.of();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "giant-tiles");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean loading = false; // EDT only: a prepare() is queued or running
+
+    public GiantGridView(GiantGrid grid) {
+        this.grid = grid;
+        setOpaque(true);
+        setPreferredSize(new Dimension(grid.getCols() * CELL + 1, grid.getRows() * CELL + 1));
+    }
+
+    public void setHits(List<GridSolver.Hit> hits) {
+        this.hits = hits;
+        repaint();
+    }
+
+    // Rows [r0, r1) and columns [c0, c1) on screen, as {r0, c0, r1, c1}.
+    public int[] visibleCells() {
+        Rectangle v = getVisibleRect();
+        return new int[]{v.y / CELL, v.x / CELL, Math.min(grid.getRows(), (v.y + v.height) / CELL + 1), Math.min(grid.getCols(), (v.x + v.width) / CELL + 1)};
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = getVisibleRect();
+        int r0 = clip.y / CELL, c0 = clip.x / CELL;
+        int r1 = Math.min(grid.getRows(), (clip.y + clip.height) / CELL + 1), c1 = Math.min(grid.getCols(), (clip.x + clip.width) / CELL + 1);
+        g.setColor(Color.WHITE);
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (r0 >= r1 || c0 >= c1)
+            return;
+        if (cells.length != r1 - r0 || cells[0].length != c1 - c0)
+            cells = new char[r1 - r0][c1 - c0];
+        if (!grid.copyReady(r0, c0, cells)) {
+            g.setColor(PENDING);
+            for (int r = r0; r < r1; r++)
+                for (int c = c0; c < c1; c++)
+                    if (cells[r - r0][c - c0] == PuzzleGenerator.EMPTY)
+                        g.fillRect(c * CELL, r * CELL, CELL, CELL);
+            prepare(r0, c0, r1, c1);
+        }
+
+        g.setColor(HIT);
+        for (GridSolver.Hit h : hits) {
+            int r = h.row(), c = h.col();
+            for (int k = 0; k < h.word().length(); k++, r += PuzzleGenerator.DR[h.dir()], c += PuzzleGenerator.DC[h.dir()])
+                if (r >= r0 && r < r1 && c >= c0 && c < c1)
+                    g.fillRect(c * CELL, r * CELL, CELL, CELL);
+        }
+        g.setColor(LINE);
+        for (int r = r0; r <= r1; r++)
+            g.drawLine(c0 * CELL, r * CELL, c1 * CELL, r * CELL);
+        for (int c = c0; c <= c1; c++)
+            g.drawLine(c * CELL, r0 * CELL, c * CELL, r1 * CELL);
+        g.setColor(Color.BLACK);
+        g.setFont(font);
+        FontMetrics fm = g.getFontMetrics();
+        int baseline = (CELL - fm.getHeight()) / 2 + fm.getAscent();
+        for (int r = r0; r < r1; r++)
+            for (int c = c0; c < c1; c++) {
+                char ch = cells[r - r0][c - c0];
+                if (ch == PuzzleGenerator.EMPTY)
+                    continue;
+                g.drawChars(cells[r - r0], c - c0, 1, c * CELL + (CELL - fm.charWidth(ch)) / 2, r * CELL + baseline);
+            }
+    }
+
+    // One region at a time: when it is done the view repaints, and whatever is still missing then
+    // (the player may have panned on) is the next region.
+    private void prepare(int r0, int c0, int r1, int c1) {
+        if (loading || loader.isShutdown())
+            return;
+        loading = true;
+        loader.execute(() -> {
+            try {
+                grid.prepare(r0, c0, r1, c1);
+            } finally {
+                SwingUtilities.invokeLater(() -> {
+                    loading = false;
+                    repaint();
+                });
+            }
+        });
+    }
+
+    // Finds word in the visible cells off the EDT, then hands the hits to done on the EDT.
+    public void find(String word, Consumer<List<GridSolver.Hit>> done) {
+        int[] v = visibleCells();
+        loader.execute(() -> {
+            List<GridSolver.Hit> found = grid.find(word, v[0], v[1], v[2], v[3]);
+            SwingUtilities.invokeLater(() -> {
+                setHits(found);
+                done.accept(found);
+            });
+        });
+    }
+
+    // Closes the grid once the tiles already queued are written.
+    public void close() {
+        loader.execute(() -> {
+            try {
+                grid.close();
+            } catch (IOException ex) {
+                System.err.println("Could not close giant grid: " + ex);
+            }
+        });
+        loader.shutdown();
+    }
+
+    //------Scrollable: the arrow keys and wheel move one cell, paging moves one screen----------------
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(Math.min(getPreferredSize().width, 40 * CELL), Math.min(getPreferredSize().height, 30 * CELL));
+    }
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+        return CELL;
+    }
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visible.height - CELL : visible.width - CELL;
+    }
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    //------Window----------------
+    public static void show(GiantGrid grid) {
+        JFrame frame = new JFrame("Giant Word Search " + grid.getRows() + "x" + grid.getCols() + " (seed " + grid.getSeed() + ")");
+        GiantGridView view = new GiantGridView(grid);
+        JScrollPane scroll = new JScrollPane(view);
+        JTextField word = new JTextField(12);
+        JButton find = new JButton("Find in view");
+        JLabel status = new JLabel(" ");
+        ActionListener search = e -> {
+            status.setText("Searching...");
+            view.find(word.getText().trim(), hits ->
+                    status.setText(hits.size() + " in view; tiles generated " + grid.getTilesGenerated() + ", on disk " + grid.getTilesOnDisk()));
+        };
+        find.addActionListener(search);
+        word.addActionListener(search);
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        top.add(new JLabel("Word:"));
+        top.add(word);
+        top.add(find);
+        top.add(status);
+        frame.add(top, BorderLayout.NORTH);
+        frame.add(scroll, BorderLayout.CENTER);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                view.close();
+            }
+        });
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+    }
+
+    //------CLI: <rows> <cols> [seed] [file]----------------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: GiantGridView <rows> <cols> [seed] [file]");
+            System.exit(2);
+        }
+        int rows = Integer.parseInt(args[0]);
+        int cols = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        Path file = args.length > 3 ? Paths.get(args[3]) : Paths.get("giant", "board-" + rows + "x" + cols + "-" + seed + ".wsgg");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        GiantGrid grid = GiantGrid.open(file, rows, cols, seed, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS);
+        SwingUtilities.invokeLater(() -> show(grid));
+    }
+}
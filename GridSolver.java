@@ -0,0 +1,189 @@
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+// Finds every occurrence of a set of words in a filled grid by walking the word trie from each cell in
+// all 8 directions; a walk stops as soon as no word continues with the letters read so far. Large grids
+// are split into bands of rows that run on the fork/join common pool.
+//
+// repair() is run on each generated puzzle: random filler can spell a target word a second time
+// (forwards or backwards), which a player would find at a path that is not accepted. It re-rolls one
+// filler letter of each extra copy and then re-checks only the words running through the changed
+// cells, until every word is read exactly where it was placed.
+public class GridSolver {
+
+    private static final int LEAF_CELLS = 1 << 14; // cells per fork/join leaf; smaller grids are solved inline
+    public static final int MAX_ROUNDS = 1000;
+
+    public static record Hit(String word, int row, int col, int dir) {
+    }
+
+    // lettersRerolled == 0 means the grid was already clean; leftover copies run only through placed words.
+    public static record Repair(int duplicatesFound, int lettersRerolled, int rounds, List<Hit> leftover) {
+        public boolean isClean() {
+            return leftover.isEmpty();
+        }
+    }
+
+    private final WordSearchGameGUI.WordSearchGame.WordTrie trie = new WordSearchGameGUI.WordSearchGame.WordTrie();
+    private final Map<Integer, String> wordAtNode = new HashMap<>();
+    private final int maxLen;
+
+    public GridSolver(Collection<String> words) {
+        int longest = 0;
+        for (String w : words) {
+            trie.insert(w);
+            int node = trie.walk(w);
+            if (trie.isWord(node)) { // words with letters outside A-Z are not in the trie
+                wordAtNode.put(node, w);
+                longest = Math.max(longest, w.length());
+            }
+        }
+        maxLen = longest;
+    }
+
+    //------Whole-grid search----------------
+    public List<Hit> solve(char[][] grid) {
+        int rows = grid.length, cols = rows == 0 ? 0 : grid[0].length;
+        if (rows == 0 || maxLen == 0)
+            return new ArrayList<>();
+        int band = Math.max(1, LEAF_CELLS / Math.max(1, cols));
+        Band all = new Band(grid, 0, rows, band);
+        return rows <= band ? all.compute() : all.invoke();
+    }
+
+    private class Band extends RecursiveTask<List<Hit>> {
+        private static final long serialVersionUID = 1L;
+        private final char[][] grid;
+        private final int from, to, leafRows;
+
+        Band(char[][] grid, int from, int to, int leafRows) {
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+            this.leafRows = leafRows;
+        }
+
+        @Override
+        protected List<Hit> compute() {
+            if (to - from <= leafRows) {
+                List<Hit> out = new ArrayList<>();
+                for (int r = from; r < to; r++)
+                    for (int c = 0; c < grid[r].length; c++)
+                        for (int dir = 0; dir < 8; dir++)
+                            walk(grid, r, c, dir, out);
+                return out;
+            }
+            int mid = (from + to) >>> 1;
+            Band top = new Band(grid, from, mid, leafRows), bottom = new Band(grid, mid, to, leafRows);
+            bottom.fork();
+            List<Hit> out = top.compute();
+            out.addAll(bottom.join());
+            return out;
+        }
+    }
+
+    private void walk(char[][] grid, int row, int col, int dir, List<Hit> out) {
+        int rows = grid.length, cols = grid[0].length;
+        int node = WordSearchGameGUI.WordSearchGame.WordTrie.ROOT;
+        for (int r = row, c = col; r >= 0 && r < rows && c >= 0 && c < cols; r += PuzzleGenerator.DR[dir], c += PuzzleGenerator.DC[dir]) {
+            node = trie.step(node, grid[r][c]);
+            if (node == WordSearchGameGUI.WordSearchGame.WordTrie.NONE)
+                return;
+            if (trie.isWord(node))
+                out.add(new Hit(wordAtNode.get(node), row, col, dir));
+        }
+    }
+
+    //------Repair: one copy per word----------------
+    public static Repair repair(char[][] grid, List<PuzzleGenerator.Placement> placements, Random random) {
+        List<String> words = new ArrayList<>();
+        for (PuzzleGenerator.Placement p : placements)
+            words.add(p.word());
+        return new GridSolver(words).repair(grid, placements, random, MAX_ROUNDS);
+    }
+
+    public Repair repair(char[][] grid, List<PuzzleGenerator.Placement> placements, Random random, int maxRounds) {
+        int rows = grid.length, cols = rows == 0 ? 0 : grid[0].length;
+        boolean[][] fixed = new boolean[rows][cols]; // letters of placed words must not change
+        Set<Hit> expected = new HashSet<>();
+        for (PuzzleGenerator.Placement p : placements) {
+            int r = p.row(), c = p.col();
+            for (int i = 0; i < p.length(); i++, r += PuzzleGenerator.DR[p.dir()], c += PuzzleGenerator.DC[p.dir()])
+                fixed[r][c] = true;
+            expected.add(new Hit(p.word(), p.row(), p.col(), p.dir()));
+            // a palindrome also reads backwards over the same cells; that is still the placed copy
+            int end = p.length() - 1;
+            expected.add(new Hit(p.word(), p.row() + PuzzleGenerator.DR[p.dir()] * end, p.col() + PuzzleGenerator.DC[p.dir()] * end, (p.dir() + 4) % 8));
+        }
+
+        Set<Hit> extra = new LinkedHashSet<>();
+        for (Hit h : solve(grid))
+            if (!expected.contains(h))
+                extra.add(h);
+        int found = extra.size(), rerolled = 0, round = 0;
+        List<Hit> leftover = new ArrayList<>();
+        while (!extra.isEmpty() && round < maxRounds) {
+            round++;
+            List<int[]> changed = new ArrayList<>();
+            for (Hit h : extra) {
+                if (!reads(grid, h))
+                    continue; // an earlier re-roll this round already broke it
+                int[] cell = pickFiller(h, fixed, random);
+                if (cell == null) {
+                    leftover.add(h);
+                    continue;
+                }
+                char old = grid[cell[0]][cell[1]];
+                grid[cell[0]][cell[1]] = (char) ('A' + (old - 'A' + 1 + random.nextInt(25)) % 26);
+                changed.add(cell);
+                rerolled++;
+            }
+            extra.clear();
+            Set<Hit> seen = new HashSet<>();
+            for (int[] cell : changed)
+                for (Hit h : through(grid, cell[0], cell[1]))
+                    if (!expected.contains(h) && seen.add(h))
+                        extra.add(h);
+            found += extra.size();
+        }
+        leftover.addAll(extra);
+        return new Repair(found, rerolled, round, leftover);
+    }
+
+    // Every hit whose path runs through (row, col): starts up to maxLen - 1 cells back in each direction.
+    private List<Hit> through(char[][] grid, int row, int col) {
+        List<Hit> out = new ArrayList<>();
+        int rows = grid.length, cols = grid[0].length;
+        for (int dir = 0; dir < 8; dir++)
+            for (int k = 0; k < maxLen; k++) {
+                int r = row - PuzzleGenerator.DR[dir] * k, c = col - PuzzleGenerator.DC[dir] * k;
+                if (r < 0 || r >= rows || c < 0 || c >= cols)
+                    break;
+                int before = out.size();
+                walk(grid, r, c, dir, out);
+                for (int i = out.size() - 1; i >= before; i--) // keep only words long enough to reach (row, col)
+                    if (out.get(i).word().length() <= k)
+                        out.remove(i);
+            }
+        return out;
+    }
+
+    private static boolean reads(char[][] grid, Hit h) {
+        int r = h.row(), c = h.col();
+        for (int i = 0; i < h.word().length(); i++, r += PuzzleGenerator.DR[h.dir()], c += PuzzleGenerator.DC[h.dir()])
+            if (grid[r][c] != h.word().charAt(i))
+                return false;
+        return true;
+    }
+
+    // A random filler cell on the hit's path, or null when every letter belongs to a placed word.
+    private static int[] pickFiller(Hit h, boolean[][] fixed, Random random) {
+        int[] pick = null;
+        int seen = 0, r = h.row(), c = h.col();
+        for (int i = 0; i < h.word().length(); i++, r += PuzzleGenerator.DR[h.dir()], c += PuzzleGenerator.DC[h.dir()])
+            if (!fixed[r][c] && random.nextInt(++seen) == 0)
+                pick = new int[]{r, c};
+        return pick;
+    }
+}
@@ -0,0 +1,152 @@
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+
+// Draws the whole letter grid in one component. Colours live in flat int arrays (one slot per cell),
+// a colour change only grows a dirty rectangle that the CellAnimator's frame repaints once, and
+// paintComponent only visits the cells inside the clip, so a 1000x1000 grid inside a scroll pane costs
+// the same per frame as a 10x10 one.
+public class GridView extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+
+    public interface CellClickListener {
+        void cellClicked(int r, int c);
+    }
+
+    private static final int MAX_CELL = 40;
+    private static final int MIN_CELL = 16;
+    private static final int TARGET_SIZE = 480; // preferred edge of the whole grid before it needs scrolling
+    private static final Color LINE = Color.DARK_GRAY;
+
+    private final char[][] letters;
+    private final int rows;
+    private final int cols;
+    private final int cell;
+    private final int[] background;
+    private final int[] foreground;
+    private final Font font;
+    private final CellAnimator animator;
+    private int dirtyTop = Integer.MAX_VALUE, dirtyLeft = Integer.MAX_VALUE; // cells changed since the last frame
+    private int dirtyBottom = -1, dirtyRight = -1;
+
+    public GridView(char[][] letters, int rows, int cols) {
+        this.letters = letters;
+        this.rows = rows;
+        this.cols = cols;
+        this.cell = Math.max(MIN_CELL, Math.min(MAX_CELL, TARGET_SIZE / Math.max(rows, cols)));
+        this.background = new int[rows * cols];
+        this.foreground = new int[rows * cols];
+        java.util.Arrays.fill(background, Color.WHITE.getRGB());
+        java.util.Arrays.fill(foreground, Color.BLACK.getRGB());
+        this.font = new Font(Font.MONOSPACED, Font.BOLD, Math.max(10, cell * 9 / 20));
+        this.animator = new CellAnimator(this, rows, cols);
+        setOpaque(true);
+        setPreferredSize(new Dimension(cols * cell + 1, rows * cell + 1));
+    }
+
+    public void addCellClickListener(CellClickListener listener) {
+        addMouseListener(new MouseAdapter() {
+            public void mouseClicked(MouseEvent e) {
+                int r = e.getY() / cell, c = e.getX() / cell;
+                if (r >= 0 && r < rows && c >= 0 && c < cols)
+                    listener.cellClicked(r, c);
+            }
+        });
+    }
+
+    public char getLetter(int r, int c) {
+        return letters[r][c];
+    }
+
+    public CellAnimator getAnimator() {
+        return animator;
+    }
+
+    public void setCellBackground(int r, int c, Color color) {
+        setCellBackground(r, c, color.getRGB());
+    }
+
+    public void setCellBackground(int r, int c, int rgb) {
+        if (background[r * cols + c] != rgb) {
+            background[r * cols + c] = rgb;
+            repaintCell(r, c);
+        }
+    }
+
+    public void setCellForeground(int r, int c, Color color) {
+        int rgb = color.getRGB();
+        if (foreground[r * cols + c] != rgb) {
+            foreground[r * cols + c] = rgb;
+            repaintCell(r, c);
+        }
+    }
+
+    public Color getCellBackground(int r, int c) {
+        return new Color(background[r * cols + c], true);
+    }
+
+    public void repaintCell(int r, int c) {
+        dirtyTop = Math.min(dirtyTop, r);
+        dirtyBottom = Math.max(dirtyBottom, r);
+        dirtyLeft = Math.min(dirtyLeft, c);
+        dirtyRight = Math.max(dirtyRight, c);
+        animator.requestFrame();
+    }
+
+    // One repaint covering every cell changed since the last frame.
+    void flushRepaint() {
+        if (dirtyBottom < 0)
+            return;
+        repaint(dirtyLeft * cell, dirtyTop * cell, (dirtyRight - dirtyLeft + 1) * cell + 1, (dirtyBottom - dirtyTop + 1) * cell + 1);
+        dirtyTop = dirtyLeft = Integer.MAX_VALUE;
+        dirtyBottom = dirtyRight = -1;
+    }
+
+    public int getCellSize() {
+        return cell;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null)
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int r0 = Math.max(0, clip.y / cell), r1 = Math.min(rows - 1, (clip.y + clip.height) / cell);
+        int c0 = Math.max(0, clip.x / cell), c1 = Math.min(cols - 1, (clip.x + clip.width) / cell);
+
+        g.setFont(font);
+        FontMetrics fm = g.getFontMetrics();
+        int baseline = (cell - fm.getHeight()) / 2 + fm.getAscent();
+        char[] ch = new char[1];
+        int lastRgb = 0;
+        g.setColor(Color.WHITE);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int x = c * cell, y = r * cell, i = r * cols + c;
+                if (background[i] != lastRgb) {
+                    lastRgb = background[i];
+                    g.setColor(new Color(lastRgb, true));
+                }
+                g.fillRect(x, y, cell, cell);
+            }
+        }
+        lastRgb = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int i = r * cols + c;
+                if (foreground[i] != lastRgb) {
+                    lastRgb = foreground[i];
+                    g.setColor(new Color(lastRgb, true));
+                }
+                ch[0] = letters[r][c];
+                g.drawChars(ch, 0, 1, c * cell + (cell - fm.charWidth(ch[0])) / 2, r * cell + baseline);
+            }
+        }
+        g.setColor(LINE);
+        for (int r = r0; r <= r1 + 1; r++)
+            g.drawLine(c0 * cell, r * cell, (c1 + 1) * cell, r * cell);
+        for (int c = c0; c <= c1 + 1; c++)
+            g.drawLine(c * cell, r0 * cell, c * cell, (r1 + 1) * cell);
+    }
+}
@@ -0,0 +1,295 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Keeps the leaderboard on disk as a sorted snapshot plus an append-only log of scores saved since.
+//
+//   snap-<g>.dat   magic, version, count, then count x (int score, short len, UTF-8 name), best score first
+//   log-<g>.dat    (short len, UTF-8 name, int score) records appended after snap-<g> was taken
+//
+// Appends and compactions run on one background thread, so the caller (the EDT) never waits on disk.
+// Compaction starts log-<g+1> for new appends and merges snap-<g> with log-<g> into snap-<g+1>.
+// Because the snapshot is already sorted, startup maps it and bulk-builds the tree in O(n), then
+// replays only the short log tail instead of every score ever saved.
+public class LeaderboardStore implements Closeable {
+
+    private static final int MAGIC = 0x57534C42; // "WSLB"
+    private static final int VERSION = 1;
+    private static final int HEADER = 12;
+    public static final int COMPACT_EVERY = 50_000; // log records before a compaction is scheduled
+
+    private final Path dir;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "leaderboard-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    // owned by the writer thread after open()
+    private FileChannel log;
+    private int gen;
+    private int snapGen;
+    private long logRecords;
+    private final ByteBuffer record = ByteBuffer.allocate(2 + 0xFFFF + 4);
+
+    private LeaderboardStore(Path dir) {
+        this.dir = dir;
+    }
+
+    //------Startup: newest snapshot + every log written after it----------------
+    public static LeaderboardStore open(Path dir, WordSearchGameGUI.WordSearchGame.Leaderboard into) throws IOException {
+        Files.createDirectories(dir);
+        LeaderboardStore store = new LeaderboardStore(dir);
+        int snap = -1, lastLog = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.dat")) {
+            for (Path p : files) {
+                String f = p.getFileName().toString();
+                if (f.startsWith("snap-"))
+                    snap = Math.max(snap, generationOf(f));
+                else if (f.startsWith("log-"))
+                    lastLog = Math.max(lastLog, generationOf(f));
+            }
+        }
+        if (snap >= 0)
+            loadSnapshot(store.snapshotPath(snap), into);
+        store.snapGen = Math.max(snap, 0);
+        store.gen = Math.max(store.snapGen, lastLog);
+        long[] records = {0};
+        for (int g = store.snapGen; g <= store.gen; g++) {
+            Path p = store.logPath(g);
+            if (Files.exists(p)) {
+                long good = replayLog(p, (name, score) -> {
+                    into.insert(name, score);
+                    records[0]++;
+                });
+                truncate(p, good); // drop a half-written record left by a crash
+            }
+        }
+        store.logRecords = records[0];
+        store.log = FileChannel.open(store.logPath(store.gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return store;
+    }
+
+    public void append(String name, int score) {
+        writer.execute(() -> {
+            try {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                record.clear();
+                record.putShort((short) Math.min(bytes.length, 0xFFFF)).put(bytes, 0, Math.min(bytes.length, 0xFFFF)).putInt(score).flip();
+                while (record.hasRemaining())
+                    log.write(record);
+                if (++logRecords >= COMPACT_EVERY)
+                    compact();
+            } catch (IOException e) {
+                System.err.println("Could not save score for " + name + ": " + e);
+            }
+        });
+    }
+
+    public Future<?> compactAsync() {
+        return writer.submit(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Leaderboard compaction failed: " + e);
+            }
+        });
+    }
+
+    // Waits for queued appends, then syncs the log to disk.
+    @Override
+    public void close() {
+        if (writer.isShutdown())
+            return;
+        writer.execute(() -> {
+            try {
+                log.force(false);
+                log.close();
+            } catch (IOException e) {
+                System.err.println("Could not close leaderboard log: " + e);
+            }
+        });
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //------Compaction (writer thread only)----------------
+    private void compact() throws IOException {
+        int old = gen;
+        log.force(false);
+        log.close();
+        gen = old + 1;
+        log = FileChannel.open(logPath(gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logRecords = 0;
+
+        // best score per player across every log since the last snapshot
+        Map<String, Integer> pending = new HashMap<>();
+        for (int g = snapGen; g <= old; g++)
+            if (Files.exists(logPath(g)))
+                replayLog(logPath(g), (name, score) -> pending.merge(name, score, Math::max));
+        List<Map.Entry<String, Integer>> fresh = new ArrayList<>(pending.entrySet());
+        fresh.sort((a, b) -> !a.getValue().equals(b.getValue()) ? Integer.compare(b.getValue(), a.getValue()) : a.getKey().compareTo(b.getKey()));
+
+        Path tmp = dir.resolve("snap-" + gen + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16));
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            data.writeInt(0);
+            int count = 0, fi = 0;
+            MappedByteBuffer snap = mapSnapshot(snapshotPath(snapGen));
+            int remaining = snap == null ? 0 : snap.getInt(8);
+            if (snap != null)
+                snap.position(HEADER);
+            while (remaining > 0 || fi < fresh.size()) {
+                if (remaining > 0) {
+                    int score = snap.getInt();
+                    String name = readName(snap);
+                    Integer newer = pending.get(name);
+                    if (newer != null && newer > score) { // player improved since the snapshot: their log entry wins
+                        remaining--;
+                        continue;
+                    }
+                    // emit any fresh entries that sort before this snapshot entry
+                    while (fi < fresh.size() && sortsBefore(fresh.get(fi), score, name)) {
+                        Map.Entry<String, Integer> e = fresh.get(fi++);
+                        if (pending.containsKey(e.getKey())) {
+                            writeEntry(data, e.getValue(), e.getKey());
+                            count++;
+                        }
+                    }
+                    pending.remove(name); // an equal or lower log score is already covered by the snapshot
+                    writeEntry(data, score, name);
+                    count++;
+                    remaining--;
+                } else {
+                    Map.Entry<String, Integer> e = fresh.get(fi++);
+                    if (pending.containsKey(e.getKey())) {
+                        writeEntry(data, e.getValue(), e.getKey());
+                        count++;
+                    }
+                }
+            }
+            data.flush();
+            out.write(ByteBuffer.allocate(4).putInt(0, count), 8);
+            out.force(true);
+        }
+        Files.move(tmp, snapshotPath(gen), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (int g = snapGen; g <= old; g++) {
+            deleteQuietly(logPath(g));
+            deleteQuietly(snapshotPath(g));
+        }
+        snapGen = gen;
+    }
+
+    private static boolean sortsBefore(Map.Entry<String, Integer> e, int score, String name) {
+        if (e.getValue() != score)
+            return e.getValue() > score;
+        return e.getKey().compareTo(name) < 0;
+    }
+
+    private static void writeEntry(DataOutputStream data, int score, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(score);
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    //------Reading----------------
+    private static void loadSnapshot(Path p, WordSearchGameGUI.WordSearchGame.Leaderboard into) throws IOException {
+        MappedByteBuffer snap = mapSnapshot(p);
+        if (snap == null)
+            return;
+        int count = snap.getInt(8);
+        String[] names = new String[count];
+        int[] scores = new int[count];
+        snap.position(HEADER);
+        for (int i = 0; i < count; i++) {
+            scores[i] = snap.getInt();
+            names[i] = readName(snap);
+        }
+        into.loadSorted(names, scores, count);
+    }
+
+    private static MappedByteBuffer mapSnapshot(Path p) throws IOException {
+        if (!Files.exists(p))
+            return null;
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.limit() < HEADER || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION)
+                throw new IOException("Not a leaderboard snapshot: " + p);
+            return buf;
+        }
+    }
+
+    private static String readName(ByteBuffer buf) {
+        int len = Short.toUnsignedInt(buf.getShort());
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private interface ScoreSink {
+        void accept(String name, int score);
+    }
+
+    // Feeds every complete record to sink and returns the byte length of the complete part.
+    private static long replayLog(Path p, ScoreSink sink) throws IOException {
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            if (ch.size() == 0)
+                return 0;
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            long good = 0;
+            while (buf.remaining() >= 2) {
+                int len = Short.toUnsignedInt(buf.getShort(buf.position()));
+                if (buf.remaining() < 2 + len + 4)
+                    break;
+                String name = readName(buf);
+                sink.accept(name, buf.getInt());
+                good = buf.position();
+            }
+            return good;
+        }
+    }
+
+    private static void truncate(Path p, long length) throws IOException {
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.WRITE)) {
+            if (ch.size() > length)
+                ch.truncate(length);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException e) {
+            // a still-mapped file cannot be deleted on some platforms; open() ignores old generations
+        }
+    }
+
+    private static int generationOf(String fileName) {
+        try {
+            return Integer.parseInt(fileName.substring(fileName.indexOf('-') + 1, fileName.lastIndexOf('.')));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Path snapshotPath(int g) {
+        return dir.resolve("snap-" + g + ".dat");
+    }
+
+    private Path logPath(int g) {
+        return dir.resolve("log-" + g + ".dat");
+    }
+}
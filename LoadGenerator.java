@@ -0,0 +1,263 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+// Headless stress test of the game core: thousands of bot players, each with its own WordSearchGame,
+// driven by a few worker threads (bot i belongs to worker i % threads). Every step a bot picks an
+// action from the mix:
+//
+//   FIND    submit() a word it has not found yet along its placed path (processFoundWord)
+//   INVALID submit() whatever a random straight path reads (deductScore, now and then a lucky find)
+//   UNDO    undoLast()
+//
+// A bot that has found every word does saveScore() (SAVE) into the one ConcurrentLeaderboard all bots
+// share, and moves on to the next puzzle. Puzzles are generated once up front, so the run measures
+// play and not generation. Latency is recorded per action in GameMetrics histograms; allocation is
+// read from the worker threads' allocation counters, and only the time after the warm-up counts.
+public class LoadGenerator {
+
+    public enum Action { FIND, INVALID, UNDO, SAVE }
+
+    public static final int DEFAULT_PUZZLES = 64;
+    public static final long DEFAULT_WARMUP_MILLIS = 2000;
+
+    public static record Report(int players, int threads, long millis, Map<Action, GameMetrics.Summary> latency,
+                                long allocatedBytes, long gcCount, long gcMillis, long gamesFinished) {
+        public long operations() {
+            long n = 0;
+            for (GameMetrics.Summary s : latency.values())
+                n += s.count();
+            return n;
+        }
+        public double opsPerSecond() {
+            return operations() * 1000.0 / millis;
+        }
+        public List<String> lines() {
+            List<String> out = new ArrayList<>();
+            out.add(String.format("%d players on %d threads for %.1f s: %,d actions, %,.0f actions/s, %d puzzles finished",
+                    players, threads, millis / 1000.0, operations(), opsPerSecond(), gamesFinished));
+            for (Map.Entry<Action, GameMetrics.Summary> e : latency.entrySet()) {
+                GameMetrics.Summary s = e.getValue();
+                out.add(String.format("  %-7s %,12d  %,10.0f/s  mean %,7.2f us  p50 %,7.2f us  p99 %,8.2f us  max %,10.2f us",
+                        e.getKey(), s.count(), s.count() * 1000.0 / millis, s.mean() / 1e3, s.p50() / 1e3, s.p99() / 1e3, s.max() / 1e3));
+            }
+            out.add(String.format("allocation: %,.1f MB/s, %,.0f bytes/action; GC: %d collections, %d ms",
+                    allocatedBytes / 1e6 * 1000.0 / millis, operations() == 0 ? 0.0 : (double) allocatedBytes / operations(), gcCount, gcMillis));
+            return out;
+        }
+    }
+
+    private final int players;
+    private final int rows;
+    private final int cols;
+    private final String[] words;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int puzzleCount = DEFAULT_PUZZLES;
+    private int findPercent = 60, invalidPercent = 30; // the rest are undos
+    private long warmupMillis = DEFAULT_WARMUP_MILLIS;
+    private long seed = 42;
+
+    private PuzzleGenerator.Puzzle[] puzzles;
+    private volatile boolean running;
+    private volatile boolean measuring;
+    private final EnumMap<Action, GameMetrics.Histogram> latency = new EnumMap<>(Action.class);
+    private final LongAdder finished = new LongAdder();
+    private final ConcurrentLeaderboard leaderboard = new ConcurrentLeaderboard();
+
+    public LoadGenerator(int players, int rows, int cols, String[] words) {
+        if (players < 1)
+            throw new IllegalArgumentException("Need at least one player: " + players);
+        this.players = players;
+        this.rows = rows;
+        this.cols = cols;
+        this.words = words.clone();
+    }
+
+    public ConcurrentLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public void setThreads(int n) {
+        threads = Math.max(1, n);
+    }
+    public void setPuzzles(int n) {
+        puzzleCount = Math.max(1, n);
+    }
+    public void setWarmupMillis(long millis) {
+        warmupMillis = Math.max(0, millis);
+    }
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    // Percent of steps that are finds and invalid submits; the remainder are undos.
+    public void setMix(int find, int invalid) {
+        if (find < 0 || invalid < 0 || find + invalid > 100)
+            throw new IllegalArgumentException("Bad action mix: find " + find + "%, invalid " + invalid + "%");
+        findPercent = find;
+        invalidPercent = invalid;
+    }
+
+    //------Run----------------
+    public Report run(long millis) throws InterruptedException {
+        if (puzzles == null) {
+            BatchGenerator batch = new BatchGenerator(rows, cols, words, seed, PuzzleGenerator.DEFAULT_BUDGET_MILLIS);
+            puzzles = IntStream.range(0, puzzleCount).parallel().mapToObj(batch::generate).toArray(PuzzleGenerator.Puzzle[]::new);
+        }
+        latency.clear();
+        for (Action a : Action.values())
+            latency.put(a, new GameMetrics.Histogram());
+        finished.reset();
+
+        List<List<Bot>> teams = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+            teams.add(new ArrayList<>());
+        for (int i = 0; i < players; i++)
+            teams.get(i % threads).add(new Bot(i));
+
+        running = true;
+        measuring = false;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            List<Bot> team = teams.get(t);
+            workers[t] = new Thread(() -> play(team), "load-bot-" + t);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+
+        Thread.sleep(warmupMillis);
+        long[] ids = new long[threads];
+        for (int t = 0; t < threads; t++)
+            ids[t] = workers[t].getId();
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] gc = gcTotals();
+        long allocStart = sum(mx.getThreadAllocatedBytes(ids));
+        long start = System.nanoTime();
+        measuring = true;
+        Thread.sleep(millis);
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        long allocEnd = sum(mx.getThreadAllocatedBytes(ids));
+        long[] gcEnd = gcTotals();
+        running = false;
+        for (Thread w : workers)
+            w.join();
+
+        EnumMap<Action, GameMetrics.Summary> summaries = new EnumMap<>(Action.class);
+        for (Map.Entry<Action, GameMetrics.Histogram> e : latency.entrySet())
+            summaries.put(e.getKey(), e.getValue().summary());
+        return new Report(players, threads, elapsed / 1_000_000L, summaries, allocEnd - allocStart,
+                gcEnd[0] - gc[0], gcEnd[1] - gc[1], finished.sum());
+    }
+
+    private void play(List<Bot> team) {
+        while (running)
+            for (int i = 0; i < team.size() && running; i++)
+                step(team.get(i));
+    }
+
+    //------One bot action----------------
+    private final class Bot {
+        final Random random;
+        int puzzle;
+        WordSearchGameGUI.WordSearchGame game;
+
+        Bot(int id) {
+            random = new Random(seed * 31 + id);
+            puzzle = id % puzzles.length;
+            game = newGame(puzzles[puzzle], random);
+            game.setPlayerName("bot-" + id);
+            game.setLeaderboard(leaderboard);
+        }
+    }
+
+    private void step(Bot b) {
+        int roll = b.random.nextInt(100);
+        Action a = roll < findPercent ? Action.FIND : roll < findPercent + invalidPercent ? Action.INVALID : Action.UNDO;
+        WordSearchGameGUI.WordSearchGame game = b.game;
+        long start = System.nanoTime();
+        switch (a) {
+            case FIND -> {
+                String w = game.nextHint();
+                if (w == null) {
+                    a = Action.SAVE;
+                    game.saveScore();
+                } else {
+                    game.submit(w, game.cellsOf(w));
+                }
+            }
+            case INVALID -> {
+                List<WordSearchGameGUI.Coord> path = randomPath(b.random);
+                String w = game.wordAt(path);
+                game.submit(w == null ? "" : w, path);
+            }
+            default -> game.undoLast();
+        }
+        long nanos = System.nanoTime() - start;
+        if (measuring)
+            latency.get(a).record(nanos);
+        if (a == Action.SAVE) {
+            if (measuring)
+                finished.increment();
+            b.puzzle = (b.puzzle + 1) % puzzles.length;
+            WordSearchGameGUI.WordSearchGame next = newGame(puzzles[b.puzzle], b.random);
+            next.carryOver(game);
+            b.game = next;
+        }
+    }
+
+    // A straight line of MIN_WORD to MIN_WORD + 3 cells in a random direction; it may run off the grid.
+    private List<WordSearchGameGUI.Coord> randomPath(Random random) {
+        int r = random.nextInt(rows), c = random.nextInt(cols), dir = random.nextInt(8);
+        int len = WordSearchGameGUI.WordSearchGame.MIN_WORD + random.nextInt(4);
+        List<WordSearchGameGUI.Coord> path = new ArrayList<>(len);
+        for (int i = 0; i < len; i++, r += PuzzleGenerator.DR[dir], c += PuzzleGenerator.DC[dir])
+            path.add(new WordSearchGameGUI.Coord(r, c));
+        return path;
+    }
+
+    private static WordSearchGameGUI.WordSearchGame newGame(PuzzleGenerator.Puzzle p, Random random) {
+        char[][] grid = new char[p.rows()][];
+        for (int r = 0; r < grid.length; r++)
+            grid[r] = p.grid()[r].clone();
+        return new WordSearchGameGUI.WordSearchGame(grid, p.placements(), new Random(random.nextLong()));
+    }
+
+    private static long[] gcTotals() {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    private static long sum(long[] values) {
+        long s = 0;
+        for (long v : values)
+            s += Math.max(0, v);
+        return s;
+    }
+
+    //------CLI: <players> [rows cols] [seconds] [find% invalid%] [threads]----------------
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            System.err.println("usage: LoadGenerator <players> [rows cols] [seconds] [find% invalid%] [threads]");
+            System.exit(2);
+        }
+        int players = Integer.parseInt(args[0]);
+        int rows = args.length > 2 ? Integer.parseInt(args[1]) : WordSearchGameGUI.WordSearchGame.DEFAULT_ROWS;
+        int cols = args.length > 2 ? Integer.parseInt(args[2]) : WordSearchGameGUI.WordSearchGame.DEFAULT_COLS;
+        long seconds = args.length > 3 ? Long.parseLong(args[3]) : 10;
+        LoadGenerator load = new LoadGenerator(players, rows, cols, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS);
+        if (args.length > 5)
+            load.setMix(Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+        if (args.length > 6)
+            load.setThreads(Integer.parseInt(args[6]));
+        load.run(seconds * 1000).lines().forEach(System.out::println);
+        System.out.println("leaderboard top 3 of " + load.getLeaderboard().size() + ":");
+        System.out.print(load.getLeaderboard().printDescToString(3));
+    }
+}
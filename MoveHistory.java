@@ -0,0 +1,97 @@
+import java.util.Arrays;
+
+// Undo/redo history of found words, one long per move in a growable array:
+//
+//   word ID (14 bits) | row (10) | col (10) | direction (3) | length (10) | score delta (17, signed)
+//
+// Moves [0, position) are applied and [position, size) are undone moves that can be redone; a new
+// move drops that redo tail. Stepping back and forth only moves the position, so undo, redo and
+// jumping anywhere in the history allocate nothing, and the array only grows (by doubling) when the
+// history gets longer than it has ever been.
+public class MoveHistory {
+
+    public static final int MAX_WORD_ID = (1 << 14) - 1;
+    public static final int MAX_CELL = (1 << 10) - 1; // row, column and length; PuzzleGenerator.MAX_SIZE fits
+    public static final int MAX_DELTA = (1 << 16) - 1;
+
+    private long[] moves = new long[16];
+    private int size = 0;
+    private int position = 0;
+
+    //------Packing----------------
+    public static long encode(int wordId, int row, int col, int dir, int length, int scoreDelta) {
+        if (wordId < 0 || wordId > MAX_WORD_ID || row < 0 || row > MAX_CELL || col < 0 || col > MAX_CELL
+                || dir < 0 || dir > 7 || length < 0 || length > MAX_CELL || Math.abs(scoreDelta) > MAX_DELTA)
+            throw new IllegalArgumentException("Move out of range: word " + wordId + " at " + row + "," + col + "," + dir
+                    + " length " + length + " delta " + scoreDelta);
+        return (long) wordId << 50 | (long) row << 40 | (long) col << 30 | (long) dir << 27 | (long) length << 17
+                | scoreDelta & 0x1FFFFL;
+    }
+    public static int wordId(long move) {
+        return (int) (move >>> 50);
+    }
+    public static int row(long move) {
+        return (int) (move >>> 40) & MAX_CELL;
+    }
+    public static int col(long move) {
+        return (int) (move >>> 30) & MAX_CELL;
+    }
+    public static int dir(long move) {
+        return (int) (move >>> 27) & 7;
+    }
+    public static int length(long move) {
+        return (int) (move >>> 17) & MAX_CELL;
+    }
+    public static int scoreDelta(long move) {
+        return (int) move << 15 >> 15; // sign-extend the low 17 bits
+    }
+    public static long withScoreDelta(long move, int scoreDelta) {
+        return encode(wordId(move), row(move), col(move), dir(move), length(move), scoreDelta);
+    }
+
+    //------Moving through the history----------------
+    public void push(long move) {
+        if (position == moves.length)
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        moves[position++] = move;
+        size = position; // whatever was undone past here can no longer be redone
+    }
+
+    public boolean canUndo() {
+        return position > 0;
+    }
+    public boolean canRedo() {
+        return position < size;
+    }
+
+    // The move just taken back; only call when canUndo().
+    public long undo() {
+        return moves[--position];
+    }
+
+    // Rewrites the move undo() just returned, e.g. with the score it really took back.
+    public void setLastUndone(long move) {
+        moves[position] = move;
+    }
+
+    // The move just put back; only call when canRedo().
+    public long redo() {
+        return moves[position++];
+    }
+
+    public int position() {
+        return position;
+    }
+    public int size() {
+        return size;
+    }
+    public long get(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException("Move " + i + " of " + size);
+        return moves[i];
+    }
+
+    public void clear() {
+        size = position = 0;
+    }
+}
@@ -0,0 +1,190 @@
+import java.util.*;
+import java.util.List;
+
+// Letter grid packed into one byte per cell (row-major, 0-25 = 'A'-'Z', NONE = anything else) plus
+// 26 bitboards: bit (r * cols + c) of plane[k] is set when that cell holds letter k.
+//
+// find() tests every start cell of one direction at once: a word w of length L runs from s in
+// direction d exactly when bit s + i * step(d) of plane[w[i]] is set for every i, so the answer is the
+// AND of L shifted planes, masked to the starts whose last letter is still on the board. That is
+// L * cells / 64 long operations per direction instead of a cell-by-cell walk.
+public class PackedGrid {
+
+    public static final byte NONE = 26;
+    public static final char WILDCARD = '?';
+    private static final int LETTERS = 26;
+
+    private final int rows;
+    private final int cols;
+    private final byte[] cells;
+    private final long[][] planes;
+    private final int words; // longs per plane
+
+    public static record Occurrence(int row, int col, int dir) {
+    }
+
+    public PackedGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new byte[rows * cols];
+        this.words = (rows * cols + 63) >>> 6;
+        this.planes = new long[LETTERS][words];
+        Arrays.fill(cells, NONE);
+    }
+
+    public PackedGrid(char[][] grid) {
+        this(grid.length, grid.length == 0 ? 0 : grid[0].length);
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                set(r, c, grid[r][c]);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+    public int getCols() {
+        return cols;
+    }
+
+    public char get(int r, int c) {
+        byte k = cells[r * cols + c];
+        return k == NONE ? PuzzleGenerator.EMPTY : (char) ('A' + k);
+    }
+
+    public void set(int r, int c, char ch) {
+        int i = r * cols + c;
+        byte old = cells[i];
+        if (old != NONE)
+            planes[old][i >>> 6] &= ~(1L << i);
+        byte k = code(ch);
+        cells[i] = k;
+        if (k != NONE)
+            planes[k][i >>> 6] |= 1L << i;
+    }
+
+    // Read-only view of a letter's bitboard; bit (r * cols + c).
+    public long[] plane(char ch) {
+        byte k = code(ch);
+        return k == NONE ? new long[words] : planes[k];
+    }
+
+    public char[][] toCharGrid() {
+        char[][] g = new char[rows][cols];
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                g[r][c] = get(r, c);
+        return g;
+    }
+
+    //------Whole-grid search----------------
+    // Every place the pattern reads in any of the 8 directions; '?' matches any letter.
+    public List<Occurrence> find(String pattern) {
+        List<Occurrence> out = new ArrayList<>();
+        long[] acc = new long[words];
+        for (int dir = 0; dir < 8; dir++) {
+            if (!match(pattern, dir, acc))
+                continue;
+            for (int w = 0; w < words; w++) {
+                long bits = acc[w];
+                while (bits != 0) {
+                    int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    out.add(new Occurrence(i / cols, i % cols, dir));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return out;
+    }
+
+    public int count(String pattern) {
+        long[] acc = new long[words];
+        int n = 0;
+        for (int dir = 0; dir < 8; dir++)
+            if (match(pattern, dir, acc))
+                for (long bits : acc)
+                    n += Long.bitCount(bits);
+        return n;
+    }
+
+    public boolean occursAt(String word, int row, int col, int dir) {
+        int r = row, c = col;
+        for (int i = 0; i < word.length(); i++, r += PuzzleGenerator.DR[dir], c += PuzzleGenerator.DC[dir]) {
+            if (r < 0 || r >= rows || c < 0 || c >= cols)
+                return false;
+            char p = word.charAt(i);
+            if (p != WILDCARD && cells[r * cols + c] != code(p))
+                return false;
+        }
+        return true;
+    }
+
+    // Leaves in acc the start cells where pattern reads in direction dir; false when there are none.
+    private boolean match(String pattern, int dir, long[] acc) {
+        int len = pattern.length();
+        if (len == 0 || !startMask(dir, len, acc))
+            return false;
+        int step = PuzzleGenerator.DR[dir] * cols + PuzzleGenerator.DC[dir];
+        for (int k = 0; k < len; k++) {
+            char p = pattern.charAt(k);
+            if (p == WILDCARD)
+                continue;
+            byte code = code(p);
+            if (code == NONE)
+                return false;
+            long[] plane = planes[code];
+            int shift = k * step;
+            long any = 0;
+            for (int w = 0; w < words; w++) {
+                if (acc[w] == 0)
+                    continue;
+                acc[w] &= bitsAt(plane, (w << 6) + shift);
+                any |= acc[w];
+            }
+            if (any == 0)
+                return false;
+        }
+        return true;
+    }
+
+    // Start cells whose word of length len in direction dir stays on the board (a rectangle of rows x cols).
+    private boolean startMask(int dir, int len, long[] acc) {
+        Arrays.fill(acc, 0);
+        int span = len - 1;
+        int dr = PuzzleGenerator.DR[dir], dc = PuzzleGenerator.DC[dir];
+        int r0 = dr < 0 ? span : 0, r1 = dr > 0 ? rows - 1 - span : rows - 1;
+        int c0 = dc < 0 ? span : 0, c1 = dc > 0 ? cols - 1 - span : cols - 1;
+        if (r0 > r1 || c0 > c1)
+            return false;
+        for (int r = r0; r <= r1; r++)
+            setRange(acc, r * cols + c0, r * cols + c1 + 1);
+        return true;
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        int fw = from >>> 6, tw = (to - 1) >>> 6;
+        long first = -1L << from, last = -1L >>> -to;
+        if (fw == tw) {
+            bits[fw] |= first & last;
+            return;
+        }
+        bits[fw] |= first;
+        for (int w = fw + 1; w < tw; w++)
+            bits[w] = -1L;
+        bits[tw] |= last;
+    }
+
+    // The 64 bits of plane starting at bit position pos (bits outside the plane read as 0).
+    private static long bitsAt(long[] plane, int pos) {
+        int w = Math.floorDiv(pos, 64), b = Math.floorMod(pos, 64);
+        long lo = w >= 0 && w < plane.length ? plane[w] : 0;
+        if (b == 0)
+            return lo;
+        long hi = w + 1 >= 0 && w + 1 < plane.length ? plane[w + 1] : 0;
+        return (lo >>> b) | (hi << (64 - b));
+    }
+
+    private static byte code(char ch) {
+        int k = Character.toUpperCase(ch) - 'A';
+        return (k >= 0 && k < LETTERS) ? (byte) k : NONE;
+    }
+}
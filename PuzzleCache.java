@@ -0,0 +1,149 @@
+import java.io.Closeable;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+// Puzzles generated ahead of time on background threads, so starting a game does not wait on the
+// generator. A puzzle is keyed by (rows, cols, words, seed) and built exactly as
+// new WordSearchGame(rows, cols, words, new Random(seed)) would build it, so a seed always gives back
+// the same grid. Finished and still-running puzzles share one LRU map; for parameters passed to
+// prefetch() the cache also keeps a few puzzles on fresh random seeds that nobody has played yet.
+public class PuzzleCache implements Closeable {
+
+    public static final int DEFAULT_CAPACITY = 64;
+    public static final int DEFAULT_READY = 3;
+
+    public static record Key(int rows, int cols, List<String> words, long seed) {
+    }
+
+    private static record Params(int rows, int cols, List<String> words) {
+    }
+
+    private final int capacity;
+    private final int readyTarget;
+    private final Random seeds = new Random();
+    private final ExecutorService workers;
+    private final LinkedHashMap<Key, CompletableFuture<PuzzleGenerator.Puzzle>> puzzles;
+    private final Map<Params, ArrayDeque<Key>> ready = new HashMap<>(); // unplayed puzzles per prefetched Params
+    private long hits;
+    private long misses;
+
+    public PuzzleCache() {
+        this(DEFAULT_CAPACITY, DEFAULT_READY);
+    }
+
+    public PuzzleCache(int capacity, int readyTarget) {
+        if (readyTarget < 0 || readyTarget >= capacity)
+            throw new IllegalArgumentException("Need 0 <= ready < capacity: ready=" + readyTarget + ", capacity=" + capacity);
+        this.capacity = capacity;
+        this.readyTarget = readyTarget;
+        this.puzzles = new LinkedHashMap<>(16, 0.75f, true) { // access order: the eldest entry is the least recently used
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<PuzzleGenerator.Puzzle>> eldest) {
+                return size() > PuzzleCache.this.capacity;
+            }
+        };
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1); // leave a core for the EDT
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "puzzle-pregen");
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        });
+    }
+
+    // Keeps readyTarget unplayed puzzles of this size in the background from now on.
+    public synchronized void prefetch(int rows, int cols, String[] words) {
+        Params p = new Params(rows, cols, List.of(words));
+        ready.putIfAbsent(p, new ArrayDeque<>());
+        topUp(p);
+    }
+
+    // Seed of a puzzle nobody has been handed yet; it is generated already (or on its way) when these
+    // parameters were prefetched, and the pool is refilled behind it.
+    public synchronized long takeSeed(int rows, int cols, String[] words) {
+        Params p = new Params(rows, cols, List.of(words));
+        ArrayDeque<Key> queue = ready.get(p);
+        Key k;
+        while (queue != null && (k = queue.poll()) != null) {
+            if (puzzles.containsKey(k)) { // else evicted before anyone took it
+                topUp(p);
+                return k.seed();
+            }
+        }
+        long seed = seeds.nextLong();
+        load(new Key(rows, cols, p.words(), seed));
+        if (queue != null)
+            topUp(p);
+        return seed;
+    }
+
+    public synchronized CompletableFuture<PuzzleGenerator.Puzzle> get(int rows, int cols, String[] words, long seed) {
+        return load(new Key(rows, cols, List.of(words), seed));
+    }
+
+    // Waits for the puzzle if it is still being generated.
+    public PuzzleGenerator.Puzzle puzzle(int rows, int cols, String[] words, long seed) {
+        try {
+            return get(rows, cols, words, seed).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw e;
+        }
+    }
+
+    // A new game on the cached puzzle; the grid is copied so games never share one.
+    public WordSearchGameGUI.WordSearchGame newGame(int rows, int cols, String[] words, long seed) {
+        PuzzleGenerator.Puzzle p = puzzle(rows, cols, words, seed);
+        char[][] grid = new char[p.rows()][];
+        for (int r = 0; r < grid.length; r++)
+            grid[r] = p.grid()[r].clone();
+        return new WordSearchGameGUI.WordSearchGame(grid, p.placements(), p.unplaced(), new Random(seed));
+    }
+
+    public synchronized int size() {
+        return puzzles.size();
+    }
+    public synchronized long getHits() {
+        return hits;
+    }
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    //------Caller holds the lock----------------
+    private CompletableFuture<PuzzleGenerator.Puzzle> load(Key k) {
+        CompletableFuture<PuzzleGenerator.Puzzle> f = puzzles.get(k);
+        if (f != null) {
+            hits++;
+            return f;
+        }
+        misses++;
+        String[] words = k.words().toArray(new String[0]);
+        CompletableFuture<PuzzleGenerator.Puzzle> fresh = CompletableFuture.supplyAsync(() ->
+                PuzzleGenerator.generate(k.rows(), k.cols(), words, new Random(k.seed()), PuzzleGenerator.DEFAULT_BUDGET_MILLIS), workers);
+        puzzles.put(k, fresh);
+        fresh.whenComplete((p, e) -> {
+            if (e != null) // do not cache failures (e.g. a word too long for the grid)
+                synchronized (this) {
+                    puzzles.remove(k, fresh);
+                }
+        });
+        return fresh;
+    }
+
+    private void topUp(Params p) {
+        ArrayDeque<Key> queue = ready.get(p);
+        while (queue.size() < readyTarget) {
+            Key k = new Key(p.rows(), p.cols(), p.words(), seeds.nextLong());
+            load(k);
+            queue.add(k);
+        }
+    }
+}
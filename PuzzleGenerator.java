@@ -0,0 +1,333 @@
+import java.util.*;
+import java.util.List;
+
+// Headless puzzle generation: places every word into a rows x cols grid, then fills the gaps.
+// The next word to place is always the one with the fewest slots (row, col, direction) still open,
+// and a word with none left is a dead end straight away. A word's slots are walked in a random order
+// with a coprime stride, so it can try every slot exactly once without materialising the slot list.
+// At a dead end the previous word moves to its next slot (backtracking); a run that backtracks too
+// often starts over on an empty grid with fresh walks and a larger allowance, until everything fits
+// or the time budget runs out.
+public class PuzzleGenerator {
+
+    public static final char EMPTY = '\0';
+    public static final int[] DR = {-1, -1, 0, 1, 1, 1, 0, -1};
+    public static final int[] DC = {0, 1, 1, 1, 0, -1, -1, -1};
+    public static final int MAX_SIZE = 1000;
+    public static final long DEFAULT_BUDGET_MILLIS = 2000;
+    private static final long RESTART_BACKTRACKS = 256; // first run's allowance, then 1.5x per restart
+    private static final long ROOMY = 64; // open slots past which a word counts as unconstrained; stops the count early
+
+    private final int rows;
+    private final int cols;
+    private final Random random;
+    private final char[][] grid;
+    private final int[][] cover; // how many placed words use each cell, so backtracking can lift a word cleanly
+    private long budgetMillis = DEFAULT_BUDGET_MILLIS;
+    private long attempts = 0;
+    private boolean metrics = true;
+
+    public static record Placement(String word, int row, int col, int dir) {
+        public int length() {
+            return word.length();
+        }
+    }
+
+    public static record Puzzle(char[][] grid, List<Placement> placements, List<String> unplaced,
+                                long attempts, long elapsedNanos) {
+        public boolean isComplete() {
+            return unplaced.isEmpty();
+        }
+        public int rows() {
+            return grid.length;
+        }
+        public int cols() {
+            return grid.length == 0 ? 0 : grid[0].length;
+        }
+    }
+
+    public PuzzleGenerator(int rows, int cols, Random random) {
+        if (rows < 1 || cols < 1 || rows > MAX_SIZE || cols > MAX_SIZE)
+            throw new IllegalArgumentException("Grid size must be between 1x1 and " + MAX_SIZE + "x" + MAX_SIZE + ": " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.random = random;
+        this.grid = new char[rows][cols];
+        this.cover = new int[rows][cols];
+    }
+
+    public void setTimeBudgetMillis(long millis) {
+        budgetMillis = millis;
+    }
+
+    // Off for internal placement runs (e.g. GiantGrid blocks) that should not count as puzzle generation.
+    public void setMetrics(boolean on) {
+        metrics = on;
+    }
+
+    //------One-shot generation: place + fill----------------
+    public static Puzzle generate(int rows, int cols, String[] words, Random random, long budgetMillis) {
+        PuzzleGenerator gen = new PuzzleGenerator(rows, cols, random);
+        gen.setTimeBudgetMillis(budgetMillis);
+        long start = System.nanoTime();
+        List<Placement> placed = gen.place(words);
+        gen.fill(placed);
+        List<String> unplaced = new ArrayList<>();
+        Set<String> done = new HashSet<>();
+        for (Placement p : placed)
+            done.add(p.word());
+        for (String w : words)
+            if (!done.contains(w))
+                unplaced.add(w);
+        return new Puzzle(gen.getGrid(), placed, unplaced, gen.getAttempts(), System.nanoTime() - start);
+    }
+
+    // Places as many of the words as the budget allows and returns their placements in input order.
+    public List<Placement> place(String[] words) {
+        for (String w : words) {
+            if (w == null || w.isEmpty())
+                throw new IllegalArgumentException("Empty word");
+            if (w.length() > Math.max(rows, cols))
+                throw new IllegalArgumentException("\"" + w + "\" cannot fit in a " + rows + "x" + cols + " grid");
+        }
+        int n = words.length;
+        long slots = (long) rows * cols * 8;
+        int[] wordAt = new int[n]; // which word sits at each depth; chosen when the search gets there
+        long[] slotAt = new long[n];
+        long[] offset = new long[n];
+        long[] stride = new long[n];
+        long[] tried = new long[n];
+        boolean[] isPlaced = new boolean[n];
+        int[] bestWords = new int[n];
+        long[] bestSlots = new long[n];
+        int bestDepth = 0;
+        long start = System.nanoTime(), startAttempts = attempts;
+        long deadline = start + budgetMillis * 1_000_000L;
+        long backtrackLimit = RESTART_BACKTRACKS;
+
+        int d = 0;
+        boolean timeUp = false;
+        while (bestDepth < n && !timeUp) {
+            // one run: depth-first, until everything fits, the run uses up its backtracks, or no arrangement exists
+            d = 0;
+            boolean chosen = false;
+            long backtracks = 0;
+            while (d < n) {
+                if (!chosen) {
+                    int w = mostConstrained(words, isPlaced, deadline);
+                    if (w == -2) {
+                        timeUp = true;
+                        break;
+                    }
+                    if (w >= 0) {
+                        wordAt[d] = w;
+                        startWalk(d, slots, offset, stride, tried);
+                    }
+                    chosen = w >= 0;
+                }
+                long found = -1;
+                if (chosen) {
+                    String word = words[wordAt[d]];
+                    while (tried[d] < slots) {
+                        long slot = (offset[d] + tried[d] * stride[d]) % slots;
+                        tried[d]++;
+                        attempts++;
+                        if (canPlaceWord(word, slotRow(slot), slotCol(slot), slotDir(slot))) {
+                            found = slot;
+                            break;
+                        }
+                        if ((attempts & 0x3FF) == 0 && System.nanoTime() > deadline)
+                            break;
+                    }
+                }
+                if (found >= 0) {
+                    placeWord(words[wordAt[d]], slotRow(found), slotCol(found), slotDir(found));
+                    if (metrics)
+                        GameMetrics.wordPlaced(tried[d]);
+                    isPlaced[wordAt[d]] = true;
+                    slotAt[d] = found;
+                    d++;
+                    chosen = false;
+                    if (d > bestDepth) {
+                        bestDepth = d;
+                        System.arraycopy(wordAt, 0, bestWords, 0, d);
+                        System.arraycopy(slotAt, 0, bestSlots, 0, d);
+                    }
+                    continue;
+                }
+                if (System.nanoTime() > deadline) {
+                    timeUp = true;
+                    break;
+                }
+                // some word has no slot left: lift the previous one and let it try its next slot
+                if (d == 0 || ++backtracks > backtrackLimit)
+                    break;
+                d--;
+                removeWord(words[wordAt[d]], slotRow(slotAt[d]), slotCol(slotAt[d]), slotDir(slotAt[d]));
+                isPlaced[wordAt[d]] = false;
+                chosen = true;
+            }
+            if (d == n || timeUp || (d == 0 && backtracks <= backtrackLimit))
+                break; // done, out of time, or the first word ran out of slots: no arrangement exists
+            // restart on an empty grid with fresh walks and a bigger allowance, so one bad early
+            // choice cannot eat the whole budget
+            for (int i = 0; i < d; i++) {
+                removeWord(words[wordAt[i]], slotRow(slotAt[i]), slotCol(slotAt[i]), slotDir(slotAt[i]));
+                isPlaced[wordAt[i]] = false;
+            }
+            d = 0;
+            backtrackLimit += backtrackLimit / 2;
+        }
+
+        if (d < bestDepth) {
+            // go back to the deepest arrangement any run reached
+            for (int i = 0; i < d; i++)
+                removeWord(words[wordAt[i]], slotRow(slotAt[i]), slotCol(slotAt[i]), slotDir(slotAt[i]));
+            for (int i = 0; i < bestDepth; i++)
+                placeWord(words[bestWords[i]], slotRow(bestSlots[i]), slotCol(bestSlots[i]), slotDir(bestSlots[i]));
+            wordAt = bestWords;
+            slotAt = bestSlots;
+        }
+        int placedDepth = Math.max(d, bestDepth);
+        if (metrics)
+            GameMetrics.generation(rows, cols, n, placedDepth, attempts - startAttempts, start);
+        Placement[] byInput = new Placement[n];
+        for (int i = 0; i < placedDepth; i++) {
+            long s = slotAt[i];
+            byInput[wordAt[i]] = new Placement(words[wordAt[i]], slotRow(s), slotCol(s), slotDir(s));
+        }
+        List<Placement> result = new ArrayList<>(placedDepth);
+        for (Placement p : byInput)
+            if (p != null)
+                result.add(p);
+        return result;
+    }
+
+    // The unplaced word with the fewest slots that still fit (longer first on a tie), -1 when one of
+    // them has no slot at all (a dead end), -2 when the deadline passes. Counting stops at ROOMY, so on
+    // a sparse grid this costs a few slots per word instead of a whole-grid scan.
+    private int mostConstrained(String[] words, boolean[] isPlaced, long deadline) {
+        int best = -1;
+        long bestFits = ROOMY;
+        for (int w = 0; w < words.length; w++) {
+            if (isPlaced[w])
+                continue;
+            String word = words[w];
+            long fits = 0;
+            for (int r = 0; r < rows && fits < bestFits; r++)
+                for (int c = 0; c < cols && fits < bestFits; c++)
+                    for (int dir = 0; dir < 8; dir++)
+                        if (canPlaceWord(word, r, c, dir))
+                            fits++;
+            attempts++;
+            if (fits == 0)
+                return -1;
+            fits = Math.min(fits, bestFits); // the last cell can overshoot by a few directions
+            if (fits < bestFits || best < 0 || word.length() > words[best].length()) {
+                best = w;
+                bestFits = fits;
+            }
+            if (System.nanoTime() > deadline)
+                return -2;
+        }
+        return best;
+    }
+
+    public void fill() {
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                if (grid[r][c] == EMPTY)
+                    grid[r][c] = (char) ('A' + random.nextInt(26));
+    }
+
+    // fill(), then re-roll filler letters wherever they spell one of the placed words a second time.
+    public GridSolver.Repair fill(List<Placement> placed) {
+        fill();
+        return GridSolver.repair(grid, placed, random);
+    }
+
+    public boolean canPlaceWord(String word, int rStart, int cStart, int dir) {
+        return overlap(word, rStart, cStart, dir) >= 0;
+    }
+
+    // How many letters the word would share with words already on the grid, or -1 when it does not fit.
+    public int overlap(String word, int rStart, int cStart, int dir) {
+        int len = word.length();
+        int rEnd = rStart + DR[dir] * (len - 1);
+        int cEnd = cStart + DC[dir] * (len - 1);
+        if (rEnd < 0 || rEnd >= rows || cEnd < 0 || cEnd >= cols)
+            return -1;
+        int r = rStart, c = cStart, shared = 0;
+        for (int i = 0; i < len; i++) {
+            char g = grid[r][c];
+            if (g != EMPTY) {
+                if (g != word.charAt(i))
+                    return -1;
+                shared++;
+            }
+            r += DR[dir];
+            c += DC[dir];
+        }
+        return shared;
+    }
+
+    public void placeWord(String word, int rStart, int cStart, int dir) {
+        int r = rStart, c = cStart;
+        for (int i = 0; i < word.length(); i++) {
+            grid[r][c] = word.charAt(i);
+            cover[r][c]++;
+            r += DR[dir];
+            c += DC[dir];
+        }
+    }
+
+    private void removeWord(String word, int rStart, int cStart, int dir) {
+        int r = rStart, c = cStart;
+        for (int i = 0; i < word.length(); i++) {
+            if (--cover[r][c] == 0)
+                grid[r][c] = EMPTY;
+            r += DR[dir];
+            c += DC[dir];
+        }
+    }
+
+    private void startWalk(int d, long slots, long[] offset, long[] stride, long[] tried) {
+        offset[d] = Math.floorMod(random.nextLong(), slots);
+        long s = 1 + Math.floorMod(random.nextLong(), slots);
+        while (gcd(s, slots) != 1)
+            s++;
+        stride[d] = s % slots == 0 ? 1 : s;
+        tried[d] = 0;
+    }
+
+    private int slotRow(long slot) {
+        return (int) (slot / 8 / cols);
+    }
+    private int slotCol(long slot) {
+        return (int) (slot / 8 % cols);
+    }
+    private static int slotDir(long slot) {
+        return (int) (slot % 8);
+    }
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    public char[][] getGrid() {
+        return grid;
+    }
+    public int getRows() {
+        return rows;
+    }
+    public int getCols() {
+        return cols;
+    }
+    public long getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,512 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Streams a live game to any number of watchers. The EDT appends each action as a few varint bytes to
+// the current frame; once per frame a broadcaster thread turns the frame into one message, encoded once,
+// and hands read-only views of that same buffer to every watcher. An extra watcher therefore costs
+// one buffer view per frame, however busy the game is. A watcher that joins gets a SNAPSHOT of the
+// state as of the last frame, then every FRAME after it.
+//
+//   message:  byte type, int seq, int payload length, payload
+//   SNAPSHOT: varint snapshot length, GameSnapshot bytes, varint score,
+//             varint found count, found word IDs, varint selected count, (row, col) per cell
+//   FRAME:    ops until the end: SELECT row col | DESELECT | CLEAR | FOUND id | UNFOUND id | SCORE s
+//
+// The score is sent at most once per frame (its last value). Watchers are in-process (Spectator) or
+// remote over TCP (listen() / watch()); a remote watcher that falls QUEUE frames behind is dropped.
+public class SpectatorFeed implements Closeable {
+
+    public interface Watcher {
+        boolean deliver(ByteBuffer message); // false: drop this watcher
+    }
+
+    public static final int FRAME_MILLIS = 33;
+    private static final int QUEUE = 256; // frames a remote watcher may lag before it is cut off
+    public static final byte SNAPSHOT = 1;
+    public static final byte FRAME = 2;
+    private static final int HEADER = 9;
+
+    //------Frame ops----------------
+    static final int SELECT = 1;
+    static final int DESELECT = 2;
+    static final int CLEAR = 3;
+    static final int FOUND = 4;
+    static final int UNFOUND = 5;
+    static final int SCORE = 6;
+
+    // Producer side, guarded by pending
+    private final Object pending = new Object();
+    private byte[] ops = new byte[256];
+    private int opsLen = 0;
+    private int score = -1; // -1: unchanged this frame
+    private byte[] newGame;
+    private int[] newGameFound;
+
+    // Broadcaster side, guarded by state: what a joining watcher is told
+    private final Object state = new Object();
+    private byte[] spare = new byte[256];
+    private byte[] gameBytes;
+    private final BitSet found = new BitSet();
+    private int lastScore;
+    private int[] selection = new int[32]; // row, col pairs
+    private int selected = 0;
+    private int seq = 0;
+
+    private final CopyOnWriteArrayList<Watcher> watchers = new CopyOnWriteArrayList<>();
+    private final Thread broadcaster;
+    private volatile boolean running = true;
+    private ServerSocketChannel server;
+    private long framesSent;
+    private long bytesEncoded;
+
+    public SpectatorFeed() {
+        broadcaster = new Thread(this::broadcast, "spectator-frames");
+        broadcaster.setDaemon(true);
+        broadcaster.start();
+    }
+
+    //------Producer side (EDT): no allocation unless the frame buffer has to grow----------------
+    public void startGame(WordSearchGameGUI.WordSearchGame game) {
+        byte[] snap = GameSnapshot.write(game);
+        int[] ids = game.undoWordIds();
+        synchronized (pending) {
+            opsLen = 0; // anything queued was about the old game
+            newGame = snap;
+            newGameFound = ids;
+            score = game.getScore();
+        }
+    }
+    public void select(int r, int c) {
+        synchronized (pending) {
+            op(SELECT);
+            varint(r);
+            varint(c);
+        }
+    }
+    public void deselect() {
+        synchronized (pending) {
+            op(DESELECT);
+        }
+    }
+    public void clear() {
+        synchronized (pending) {
+            op(CLEAR);
+        }
+    }
+    public void found(int wordId) {
+        synchronized (pending) {
+            op(FOUND);
+            varint(wordId);
+        }
+    }
+    public void unfound(int wordId) {
+        synchronized (pending) {
+            op(UNFOUND);
+            varint(wordId);
+        }
+    }
+    public void score(int s) {
+        synchronized (pending) {
+            score = s;
+        }
+    }
+
+    private void op(int op) {
+        if (opsLen + 11 > ops.length)
+            ops = Arrays.copyOf(ops, ops.length * 2);
+        ops[opsLen++] = (byte) op;
+    }
+    private void varint(int v) {
+        while ((v & ~0x7F) != 0) {
+            ops[opsLen++] = (byte) (v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        ops[opsLen++] = (byte) v;
+    }
+
+    //------Watchers----------------
+    // Sends the current state to w, then every frame after it.
+    public void addWatcher(Watcher w) {
+        synchronized (state) {
+            if (gameBytes != null && !deliver(w, snapshotMessage()))
+                return;
+            watchers.add(w);
+        }
+    }
+    public void removeWatcher(Watcher w) {
+        watchers.remove(w);
+    }
+    public int getWatcherCount() {
+        return watchers.size();
+    }
+    // Sequence number of the last message sent; a watcher that is caught up has seen this one.
+    public int getSeq() {
+        synchronized (state) {
+            return seq;
+        }
+    }
+    public synchronized long getFramesSent() {
+        return framesSent;
+    }
+    public synchronized long getBytesEncoded() {
+        return bytesEncoded;
+    }
+
+    //------Broadcaster thread----------------
+    private void broadcast() {
+        while (running) {
+            try {
+                Thread.sleep(FRAME_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            byte[] frame, game;
+            int[] gameFound;
+            int len, s;
+            synchronized (pending) {
+                if (opsLen == 0 && score < 0 && newGame == null)
+                    continue;
+                frame = ops;
+                len = opsLen;
+                s = score;
+                game = newGame;
+                gameFound = newGameFound;
+                ops = spare; // double buffer: the EDT keeps writing while this frame goes out
+                opsLen = 0;
+                score = -1;
+                newGame = null;
+                newGameFound = null;
+            }
+            synchronized (state) {
+                if (game != null) {
+                    gameBytes = game;
+                    found.clear();
+                    for (int id : gameFound)
+                        found.set(id);
+                    selected = 0;
+                    lastScore = Math.max(0, s);
+                    seq++;
+                    send(snapshotMessage());
+                }
+                if (gameBytes != null && (len > 0 || (s >= 0 && s != lastScore))) {
+                    if (s >= 0)
+                        lastScore = s;
+                    apply(frame, len);
+                    seq++;
+                    send(frameMessage(frame, len, s));
+                }
+            }
+            spare = frame;
+        }
+    }
+
+    private void send(ByteBuffer message) {
+        ByteBuffer shared = message.asReadOnlyBuffer();
+        synchronized (this) {
+            framesSent++;
+            bytesEncoded += shared.remaining();
+        }
+        for (Watcher w : watchers)
+            if (!deliver(w, shared.duplicate()))
+                watchers.remove(w);
+    }
+
+    // A watcher that throws is dropped like one that refuses the message; it must not take the
+    // broadcaster thread, and with it every other watcher's feed, down.
+    private static boolean deliver(Watcher w, ByteBuffer message) {
+        try {
+            return w.deliver(message);
+        } catch (RuntimeException e) {
+            System.err.println("spectator dropped: " + e);
+            return false;
+        }
+    }
+
+    private void apply(byte[] frame, int len) {
+        ByteBuffer in = ByteBuffer.wrap(frame, 0, len);
+        while (in.hasRemaining()) {
+            int op = in.get();
+            switch (op) {
+                case SELECT -> {
+                    if (selected * 2 + 2 > selection.length)
+                        selection = Arrays.copyOf(selection, selection.length * 2);
+                    selection[selected * 2] = readVarint(in);
+                    selection[selected++ * 2 + 1] = readVarint(in);
+                }
+                case DESELECT -> selected = Math.max(0, selected - 1);
+                case CLEAR -> selected = 0;
+                case FOUND -> found.set(readVarint(in));
+                case UNFOUND -> found.clear(readVarint(in));
+                default -> throw new IllegalStateException("Bad spectator op " + op);
+            }
+        }
+    }
+
+    private ByteBuffer frameMessage(byte[] frame, int len, int s) {
+        ByteBuffer msg = ByteBuffer.allocate(HEADER + len + (s >= 0 ? 6 : 0));
+        msg.put(FRAME).putInt(seq).putInt(0).put(frame, 0, len);
+        if (s >= 0) {
+            msg.put((byte) SCORE);
+            putVarint(msg, s);
+        }
+        return msg.putInt(5, msg.position() - HEADER).flip();
+    }
+
+    private ByteBuffer snapshotMessage() {
+        ByteBuffer msg = ByteBuffer.allocate(HEADER + 5 * 4 + gameBytes.length + 5 * found.cardinality() + 10 * selected);
+        msg.put(SNAPSHOT).putInt(seq).putInt(0);
+        putVarint(msg, gameBytes.length);
+        msg.put(gameBytes);
+        putVarint(msg, lastScore);
+        putVarint(msg, found.cardinality());
+        for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1))
+            putVarint(msg, id);
+        putVarint(msg, selected);
+        for (int i = 0; i < selected * 2; i++)
+            putVarint(msg, selection[i]);
+        return msg.putInt(5, msg.position() - HEADER).flip();
+    }
+
+    static void putVarint(ByteBuffer b, int v) {
+        while ((v & ~0x7F) != 0) {
+            b.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        b.put((byte) v);
+    }
+    static int readVarint(ByteBuffer b) {
+        int v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte x = b.get();
+            v |= (x & 0x7F) << shift;
+            if (x >= 0)
+                return v;
+        }
+    }
+
+    //------Loopback / TCP transport----------------
+    // Accepts watchers on port (0 = any free port) and returns the port in use.
+    public int listen(int port) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        Thread accept = new Thread(() -> {
+            while (running) {
+                try {
+                    SocketChannel ch = server.accept();
+                    addWatcher(new SocketWatcher(ch));
+                } catch (IOException e) {
+                    return; // closed
+                }
+            }
+        }, "spectator-accept");
+        accept.setDaemon(true);
+        accept.start();
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    // Each remote watcher has its own writer thread, so a slow socket never holds up the frame.
+    final class SocketWatcher implements Watcher {
+        private final SocketChannel ch;
+        private final ArrayBlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<>(QUEUE);
+        private volatile boolean open = true;
+
+        SocketWatcher(SocketChannel ch) {
+            this.ch = ch;
+            Thread writer = new Thread(this::write, "spectator-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        @Override
+        public boolean deliver(ByteBuffer message) {
+            if (open && queue.offer(message))
+                return true;
+            close();
+            return false;
+        }
+
+        private void write() {
+            try {
+                while (open) {
+                    ByteBuffer m = queue.poll(100, TimeUnit.MILLISECONDS);
+                    while (m != null && m.hasRemaining())
+                        ch.write(m);
+                }
+            } catch (IOException | InterruptedException e) {
+                // watcher went away
+            } finally {
+                close();
+                removeWatcher(this);
+            }
+        }
+
+        private void close() {
+            open = false;
+            try {
+                ch.close();
+            } catch (IOException ignored) {
+                // already gone
+            }
+        }
+    }
+
+    // Reads messages from a feed at host:port into spectator until the connection closes.
+    public static void watch(String host, int port, Spectator spectator) throws IOException {
+        try (SocketChannel ch = SocketChannel.open(new InetSocketAddress(host, port));
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch)))) {
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                int s = in.readInt();
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                spectator.apply(type, s, ByteBuffer.wrap(payload));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        broadcaster.interrupt();
+        if (server != null)
+            server.close();
+    }
+
+    //------Watcher side: the game as a spectator sees it----------------
+    public static class Spectator implements Watcher {
+        private WordSearchGameGUI.WordSearchGame game;
+        private final BitSet found = new BitSet();
+        private final List<WordSearchGameGUI.Coord> selection = new ArrayList<>();
+        private int score;
+        private int seq = -1;
+
+        @Override
+        public boolean deliver(ByteBuffer message) {
+            byte type = message.get();
+            int s = message.getInt();
+            int len = message.getInt();
+            apply(type, s, message.slice(message.position(), len));
+            return true;
+        }
+
+        public synchronized void apply(byte type, int s, ByteBuffer in) {
+            seq = s;
+            if (type == SNAPSHOT) {
+                byte[] snap = new byte[readVarint(in)];
+                in.get(snap);
+                try {
+                    game = GameSnapshot.read(snap);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Bad game in spectator snapshot", e);
+                }
+                score = readVarint(in);
+                found.clear();
+                for (int n = readVarint(in); n > 0; n--)
+                    found.set(wordId(in));
+                selection.clear();
+                for (int n = readVarint(in); n > 0; n--)
+                    selection.add(cell(in));
+                return;
+            }
+            while (in.hasRemaining()) {
+                int op = in.get();
+                switch (op) {
+                    case SELECT -> selection.add(cell(in));
+                    case DESELECT -> {
+                        if (!selection.isEmpty())
+                            selection.remove(selection.size() - 1);
+                    }
+                    case CLEAR -> selection.clear();
+                    case FOUND -> found.set(wordId(in));
+                    case UNFOUND -> found.clear(wordId(in));
+                    case SCORE -> score = readVarint(in);
+                    default -> throw new IllegalStateException("Bad spectator op " + op);
+                }
+            }
+        }
+
+        // IDs and cells come off the wire, so they are checked against the game before anything indexes with them.
+        private int wordId(ByteBuffer in) {
+            int id = readVarint(in);
+            if (game == null || id < 0 || id >= game.getWordsToPlace().length)
+                throw new IllegalStateException("Bad word ID " + id);
+            return id;
+        }
+        private WordSearchGameGUI.Coord cell(ByteBuffer in) {
+            int r = readVarint(in), c = readVarint(in);
+            if (game == null || r < 0 || r >= game.getRows() || c < 0 || c >= game.getCols())
+                throw new IllegalStateException("Bad cell " + r + "," + c);
+            return new WordSearchGameGUI.Coord(r, c);
+        }
+
+        public synchronized boolean hasGame() {
+            return game != null;
+        }
+        public synchronized int getScore() {
+            return score;
+        }
+        public synchronized int getSeq() {
+            return seq;
+        }
+        public synchronized List<String> getFoundWords() {
+            List<String> out = new ArrayList<>();
+            for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1))
+                out.add(game.getWordsToPlace()[id]);
+            return out;
+        }
+        public synchronized List<WordSearchGameGUI.Coord> getSelection() {
+            return new ArrayList<>(selection);
+        }
+
+        // The grid with found letters in lower case and the current selection in brackets.
+        public synchronized String render() {
+            if (game == null)
+                return "(waiting for a game)\n";
+            char[][] g = game.getGrid();
+            boolean[][] lit = new boolean[g.length][g.length == 0 ? 0 : g[0].length];
+            for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1))
+                for (WordSearchGameGUI.Coord c : game.cellsOf(game.getWordsToPlace()[id]))
+                    lit[c.r()][c.c()] = true;
+            StringBuilder sb = new StringBuilder();
+            sb.append(game.getPlayerName()).append(" - score ").append(score).append(", found ").append(found.cardinality())
+              .append('/').append(game.getWordsToPlace().length).append('\n');
+            for (int r = 0; r < g.length; r++) {
+                for (int c = 0; c < g[r].length; c++) {
+                    boolean sel = selection.contains(new WordSearchGameGUI.Coord(r, c));
+                    char ch = lit[r][c] ? Character.toLowerCase(g[r][c]) : g[r][c];
+                    sb.append(sel ? '[' : ' ').append(ch).append(sel ? ']' : ' ');
+                }
+                sb.append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    //------CLI: <host> <port> - print the board every time the feed changes----------------
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: SpectatorFeed <host> <port>");
+            System.exit(2);
+        }
+        Spectator spectator = new Spectator() {
+            @Override
+            public synchronized void apply(byte type, int s, ByteBuffer in) {
+                super.apply(type, s, in);
+                System.out.println(render());
+            }
+        };
+        watch(args[0], Integer.parseInt(args[1]), spectator);
+    }
+}
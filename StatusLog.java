@@ -0,0 +1,72 @@
+import javax.swing.AbstractListModel;
+
+// Status history as a list model over a fixed ring of lines. Once the ring is full, adding a line
+// drops the oldest one, so a session of any length keeps at most capacity lines and the JList showing
+// it only lays out the rows that are on screen.
+public class StatusLog extends AbstractListModel<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    private final String[] lines;
+    private int first = 0; // ring index of the oldest line
+    private int size = 0;
+
+    public StatusLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StatusLog(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Status log capacity must be at least 1: " + capacity);
+        lines = new String[capacity];
+    }
+
+    // Adds each line of message; a trailing newline does not make an empty row.
+    public void append(String message) {
+        int start = 0;
+        while (start < message.length()) {
+            int end = message.indexOf('\n', start);
+            if (end < 0)
+                end = message.length();
+            add(message.substring(start, end));
+            start = end + 1;
+        }
+    }
+
+    public void add(String line) {
+        if (size == lines.length) { // drop the oldest line; the list only has to shift, not repaint every row
+            lines[first] = null;
+            first = (first + 1) % lines.length;
+            size--;
+            fireIntervalRemoved(this, 0, 0);
+        }
+        lines[(first + size) % lines.length] = line;
+        size++;
+        fireIntervalAdded(this, size - 1, size - 1);
+    }
+
+    public void clear() {
+        if (size == 0)
+            return;
+        int last = size - 1;
+        java.util.Arrays.fill(lines, null);
+        first = size = 0;
+        fireIntervalRemoved(this, 0, last);
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return lines[(first + index) % lines.length];
+    }
+}
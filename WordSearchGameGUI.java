@@ -3,29 +3,76 @@ import java.awt.event.*;
 import java.util.*;
 import java.util.List;
 import javax.swing.*;
-import  javax.swing.Timer;
 
 public class WordSearchGameGUI extends JFrame {
 
-    private static final int ROWS = 10;
-    private static final int COLS = 10;
-
-    private final JLabel[][] gridLabels = new JLabel[ROWS][COLS];
-    private final JTextArea statusArea = new JTextArea(8, 24);
-    private final JTextArea wordListArea = new JTextArea(12, 20);
+    private static final int LEADERBOARD_ROWS = 100;
+    private static final String LEADERBOARD_DIR = "leaderboard";
+    private static final String JOURNAL_DIR = "journal";
+    static final int HINT_COST = 5;
+    private static final Color FOUND = Color.GREEN.darker();
+    private static final int ERROR_FLASH_MILLIS = 300;
+    private static final int HINT_MILLIS = 1000;
+    private static final int SWEEP_STEP_MILLIS = 40; // delay between letters of the found-word sweep
+    private static final int SWEEP_FADE_MILLIS = 400;
+    static final PuzzleCache PUZZLES = new PuzzleCache(); // shared so main() can start generating before the window exists
+    private static String[] puzzleWords = WordSearchGame.DEFAULT_WORDS; // or a draw from --words
+    private static SpectatorFeed spectators; // set by --broadcast <port>
+
+    private GameJournal journal; // null when the journal file could not be opened
+    private GridView gridView;
+    private JScrollPane gridScroll;
+    private JButton newGameButton; // disabled while the next puzzle is generated
+    private final StatusLog statusLog = new StatusLog(); // capped history, oldest lines drop off
+    private final JList<String> statusArea = new JList<>(statusLog);
+    private final WordListModel wordListModel = new WordListModel();
+    private final JList<String> wordListArea = new JList<>(wordListModel);
     private final JTextField wordInput = new JTextField(18);
 
     private WordSearchGame game;
     private final List<Coord> selected = new ArrayList<>();
     private final StringBuilder current = new StringBuilder();
+    private int trieNode = WordSearchGame.WordTrie.ROOT; // dictionary position of the current selection
+    private int[][] foundCover; // how many found words cover each cell
+    private long seed;
+
+    // Opens a window on the next pre-generated puzzle of the default size.
+    public static void open() {
+        open(WordSearchGame.DEFAULT_ROWS, WordSearchGame.DEFAULT_COLS);
+    }
+
+    public static void open(int rows, int cols) {
+        open(rows, cols, PUZZLES.takeSeed(rows, cols, puzzleWords));
+    }
+
+    // The same seed and size always give the same puzzle. The window opens on the EDT once the puzzle
+    // is generated; on a cache miss the wait happens on the generator's thread, never on the EDT.
+    public static void open(int rows, int cols, long seed) {
+        PUZZLES.get(rows, cols, puzzleWords, seed).whenComplete((p, e) -> {
+            if (e != null) {
+                Throwable cause = e instanceof java.util.concurrent.CompletionException && e.getCause() != null ? e.getCause() : e;
+                System.err.println("Could not generate a puzzle: " + cause.getMessage());
+                return;
+            }
+            SwingUtilities.invokeLater(() -> new WordSearchGameGUI(rows, cols, seed));
+        });
+    }
 
-    public WordSearchGameGUI() {
+    // Only called once the puzzle for seed is ready (see open), so newGame() does not wait.
+    private WordSearchGameGUI(int rows, int cols, long seed) {
         super("Word Search Game");
-        game = new WordSearchGame();
+        this.seed = seed;
+        game = PUZZLES.newGame(rows, cols, puzzleWords, seed);
         buildGUI();
+        openLeaderboardStore();
+        openJournal();
         loadGridToUI();
         refreshWordList();
         promptPlayerName();
+        if (journal != null)
+            journal.startGame(game);
+        if (spectators != null)
+            spectators.startGame(game);
 
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         pack();
@@ -37,41 +84,33 @@ public class WordSearchGameGUI extends JFrame {
         setLayout(new BorderLayout(8, 8));
 
         //-------------Grid panel-------------
-        JPanel gridPanel=new JPanel(new GridLayout(ROWS, COLS));
-        Font gridFont=new Font(Font.MONOSPACED, Font.BOLD, 18);
-        for (int r=0;r<ROWS;r++) {
-            for (int c=0;c<COLS;c++) {
-                JLabel lbl = new JLabel("", SwingConstants.CENTER);
-                lbl.setFont(gridFont);
-                lbl.setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY));
-                lbl.setOpaque(true);
-                lbl.setBackground(Color.WHITE);
-                final int rr = r, cc = c;
-                lbl.addMouseListener(new MouseAdapter() {
-                    public void mouseClicked(MouseEvent e) {
-                        handleCellClick(rr, cc);
-                    }
-                });
-                gridLabels[r][c] = lbl;
-                gridPanel.add(lbl);
-            }
-        }
-        add(gridPanel, BorderLayout.CENTER);
+        gridScroll = new JScrollPane();
+        installGridView();
+        gridScroll.getVerticalScrollBar().setUnitIncrement(gridView.getCellSize());
+        gridScroll.getHorizontalScrollBar().setUnitIncrement(gridView.getCellSize());
+        Dimension pref = gridView.getPreferredSize();
+        gridScroll.setPreferredSize(new Dimension(Math.min(pref.width, 720) + 4, Math.min(pref.height, 720) + 4));
+        add(gridScroll, BorderLayout.CENTER);
 
         //--------Right information panel----------
         JPanel right = new JPanel();
         right.setLayout(new BoxLayout(right, BoxLayout.Y_AXIS));
         right.setPreferredSize(new Dimension(300, 420));
 
-        statusArea.setEditable(false);
+        // fixed row sizes let JList lay out and paint only the rows in view
         statusArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        statusArea.setPrototypeCellValue("\"XXXXXXXXXXXXXXXX\" is not hidden there. -5 points.");
+        statusArea.setVisibleRowCount(8);
+        statusArea.setFocusable(false);
         JScrollPane statusScroll = new JScrollPane(statusArea);
         statusScroll.setBorder(BorderFactory.createTitledBorder("Status | Score: 0"));
         right.add(statusScroll);
         right.add(Box.createVerticalStrut(8));
 
-        wordListArea.setEditable(false);
         wordListArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+        wordListArea.setPrototypeCellValue("✓ XXXXXXXXXXXXXXXXXXXXXXXX");
+        wordListArea.setVisibleRowCount(12);
+        wordListArea.setFocusable(false);
         JScrollPane wordScroll = new JScrollPane(wordListArea);
         wordScroll.setBorder(BorderFactory.createTitledBorder("Words to Find"));
         right.add(wordScroll);
@@ -90,15 +129,25 @@ public class WordSearchGameGUI extends JFrame {
         bottom.add(input, BorderLayout.NORTH);
 
         JPanel buttons = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        JButton newBtn = new JButton("New Game");
+        newGameButton = newBtn;
         JButton undoBtn = new JButton("Undo");
+        JButton redoBtn = new JButton("Redo");
+        JButton hintBtn = new JButton("Hint");
         JButton boardBtn = new JButton("Leaderboard");
         JButton quitBtn = new JButton("Quit");
 
+        newBtn.addActionListener(e -> onNewGame());
         undoBtn.addActionListener(e -> onUndo());
+        redoBtn.addActionListener(e -> onRedo());
+        hintBtn.addActionListener(e -> onHint());
         boardBtn.addActionListener(e -> onLeaderboard());
         quitBtn.addActionListener(e -> onQuit());
 
+        buttons.add(newBtn);
         buttons.add(undoBtn);
+        buttons.add(redoBtn);
+        buttons.add(hintBtn);
         buttons.add(boardBtn);
         buttons.add(quitBtn);
 
@@ -106,33 +155,146 @@ public class WordSearchGameGUI extends JFrame {
         add(bottom, BorderLayout.SOUTH);
     }
 
+    private void installGridView() {
+        foundCover = new int[game.getRows()][game.getCols()];
+        if (gridView != null)
+            gridView.getAnimator().cancelAll();
+        gridView = new GridView(game.getGrid(), game.getRows(), game.getCols());
+        gridView.getAnimator().setRestingColor(this::restingBackground);
+        gridView.addCellClickListener(this::handleCellClick);
+        gridScroll.setViewportView(gridView);
+    }
+
+    // Takes the next pre-generated puzzle of the same size. The finished game's score is saved to the
+    // leaderboard, the new game starts from 0, and the leaderboard and player name carry over.
+    // On a cache miss the puzzle is still being generated, so the switch waits for it off the EDT and
+    // the current game stays playable meanwhile.
+    private void onNewGame() {
+        int rows = game.getRows(), cols = game.getCols();
+        long nextSeed = PUZZLES.takeSeed(rows, cols, puzzleWords);
+        java.util.concurrent.CompletableFuture<PuzzleGenerator.Puzzle> pending = PUZZLES.get(rows, cols, puzzleWords, nextSeed);
+        if (pending.isDone() && !pending.isCompletedExceptionally()) {
+            startNewGame(nextSeed);
+            return;
+        }
+        newGameButton.setEnabled(false);
+        appendStatus("Generating the next puzzle...\n");
+        pending.whenComplete((p, e) -> SwingUtilities.invokeLater(() -> {
+            newGameButton.setEnabled(true);
+            if (e != null) {
+                Throwable cause = e instanceof java.util.concurrent.CompletionException && e.getCause() != null ? e.getCause() : e;
+                appendStatus("Could not generate a puzzle: " + cause.getMessage() + "\n");
+                return;
+            }
+            startNewGame(nextSeed);
+        }));
+    }
+
+    // Only called once the puzzle for nextSeed is ready, so newGame() does not wait.
+    private void startNewGame(long nextSeed) {
+        game.saveScore();
+        seed = nextSeed;
+        WordSearchGame next = PUZZLES.newGame(game.getRows(), game.getCols(), puzzleWords, seed);
+        next.carryOver(game);
+        game = next;
+        clearSelection(false);
+        installGridView();
+        refreshWordList();
+        appendStatus("New puzzle (seed " + seed + ").\n");
+        reportUnplaced();
+        updateScoreTitle();
+        if (journal != null)
+            journal.startGame(game);
+        if (spectators != null)
+            spectators.startGame(game);
+    }
+
+    private void openLeaderboardStore() {
+        try {
+            LeaderboardStore store = LeaderboardStore.open(java.nio.file.Paths.get(LEADERBOARD_DIR), game.getLeaderboard());
+            game.setLeaderboardStore(store);
+            Runtime.getRuntime().addShutdownHook(new Thread(store::close)); // flush pending scores on exit
+        } catch (java.io.IOException e) {
+            appendStatus("Leaderboard will not be saved: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void openJournal() {
+        try {
+            journal = new GameJournal(java.nio.file.Paths.get(JOURNAL_DIR, "game-" + System.currentTimeMillis() + ".wsj"));
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+        } catch (java.io.IOException e) {
+            appendStatus("Moves will not be journaled: " + e.getMessage() + "\n");
+        }
+    }
+
     private void promptPlayerName() {
         String name = JOptionPane.showInputDialog(this, "Enter your name:", "Player Name", JOptionPane.PLAIN_MESSAGE);
         if (name != null && !name.trim().isEmpty())
             game.setPlayerName(name.trim());
-        statusArea.append("Welcome, " + game.getPlayerName() + " — find the words!\n");
+        appendStatus("Welcome, " + game.getPlayerName() + " — find the words!\n");
+        appendStatus("Puzzle seed " + seed + ".\n");
+        reportUnplaced();
         updateScoreTitle();
     }
 
+    // The generator may run out of time before every word fits; say which words this puzzle leaves out.
+    private void reportUnplaced() {
+        List<String> left = game.getUnplacedWords();
+        if (!left.isEmpty())
+            appendStatus("Only " + game.getWordsToPlace().length + " of " + (game.getWordsToPlace().length + left.size())
+                    + " words fit this grid; left out: " + String.join(", ", left) + ".\n");
+    }
+
     private void loadGridToUI() {
-        char[][] g = game.getGrid();
-        for (int r = 0; r < ROWS; r++)
-            for (int c = 0; c < COLS; c++)
-                gridLabels[r][c].setText(String.valueOf(g[r][c]));
+        gridView.repaint(); // letters are read straight from the game grid
     }
 
-    private void refreshWordList() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Words to find:\n\n");
-        for (String w : game.getWordsToPlace()) {
-            sb.append(game.getFoundList().contains(w) ? "✓ " : "  ").append(w).append("\n");
+    // Rows are read from the game on demand (row = word ID), so nothing is copied when it changes.
+    private class WordListModel extends AbstractListModel<String> {
+        private static final long serialVersionUID = 1L;
+        private int size = 0;
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+        @Override
+        public String getElementAt(int id) {
+            return (game.getFoundList().containsId(id) ? "✓ " : "  ") + game.getWordsToPlace()[id];
+        }
+        void reset() {
+            int old = size;
+            size = game.getWordsToPlace().length;
+            if (old > 0)
+                fireIntervalRemoved(this, 0, old - 1);
+            if (size > 0)
+                fireIntervalAdded(this, 0, size - 1);
+        }
+        void rowChanged(int id) {
+            fireContentsChanged(this, id, id);
         }
-        wordListArea.setText(sb.toString());
+    }
+
+    private void refreshWordList() {
+        long start = System.nanoTime();
+        wordListModel.reset();
+        GameMetrics.refreshWordList(wordListModel.getSize(), start);
+    }
+
+    // Repaints just that word's row (row = word ID).
+    private void refreshWordRow(String word) {
+        int id = game.getWordId(word);
+        if (id < 0)
+            return;
+        long t0 = System.nanoTime();
+        wordListModel.rowChanged(id);
+        GameMetrics.refreshWordList(1, t0);
     }
 
     private void updateScoreTitle() {
-        Component container=statusArea.getParent(); // Jpanel of status area
-        if (container!=null && container.getParent() instanceof JScrollPane) // parent of jpanel
+        Component container=statusArea.getParent(); // viewport of status list
+        if (container!=null && container.getParent() instanceof JScrollPane) // parent of viewport
         {
             JScrollPane sp = (JScrollPane) container.getParent(); //casting to access Border
             if (sp.getBorder() instanceof javax.swing.border.TitledBorder) {
@@ -140,10 +302,13 @@ public class WordSearchGameGUI extends JFrame {
                 repaint();
             }
         }
+        if (spectators != null)
+            spectators.score(game.getScore());
     }
 
     private void appendStatus(String message) {
-        statusArea.append(message);
+        statusLog.append(message);
+        statusArea.ensureIndexIsVisible(statusLog.getSize() - 1);
     }
 
 
@@ -166,10 +331,20 @@ public class WordSearchGameGUI extends JFrame {
     private void select(Coord coord) {
         if (selected.contains(coord))
             return;
+        char ch = gridView.getLetter(coord.r, coord.c);
+        int nextNode = game.getDictionary().step(trieNode, ch);
+        if (nextNode == WordSearchGame.WordTrie.NONE) { // no word continues this way, reject the cell right away
+            appendStatus("No word starts with \"" + current + ch + "\".\n");
+            return;
+        }
+        trieNode = nextNode;
         selected.add(coord);
-        char ch = gridLabels[coord.r][coord.c].getText().charAt(0);
+        if (journal != null)
+            journal.select(coord.r, coord.c);
+        if (spectators != null)
+            spectators.select(coord.r, coord.c);
         current.append(ch);
-        gridLabels[coord.r][coord.c].setBackground(Color.YELLOW);
+        gridView.setCellBackground(coord.r, coord.c, Color.YELLOW);
         wordInput.setText(current.toString());
     }
 
@@ -177,16 +352,26 @@ public class WordSearchGameGUI extends JFrame {
         if (selected.isEmpty())
             return;
         Coord last = selected.remove(selected.size() - 1);
+        if (journal != null)
+            journal.deselect();
+        if (spectators != null)
+            spectators.deselect();
         if (current.length() > 0)
             current.setLength(current.length() - 1);
-        gridLabels[last.r][last.c].setBackground(Color.WHITE);
+        trieNode = game.getDictionary().walk(current);
+        paintCell(last.r, last.c);
         wordInput.setText(current.toString());
     }
 
     private void clearSelection(boolean visual) {
-        if (visual) selected.forEach(c -> gridLabels[c.r][c.c].setBackground(Color.WHITE));
+        if (visual) selected.forEach(c -> paintCell(c.r, c.c));
+        if (journal != null && !selected.isEmpty())
+            journal.clear();
+        if (spectators != null && !selected.isEmpty())
+            spectators.clear();
         selected.clear();
         current.setLength(0);
+        trieNode = WordSearchGame.WordTrie.ROOT;
         wordInput.setText("");
     }
 
@@ -196,27 +381,25 @@ public class WordSearchGameGUI extends JFrame {
         return (dr <= 1 && dc <= 1 && (dr != 0 || dc != 0));
     }
 
-    private boolean isLinear(List<Coord> path) {
-        if (path.size() <= 1) return true;
-        int dr = Integer.signum(path.get(1).r - path.get(0).r);
-        int dc = Integer.signum(path.get(1).c - path.get(0).c);
-        for (int i = 1; i < path.size() - 1; i++) {
-            if (Integer.signum(path.get(i + 1).r - path.get(i).r) != dr ||
-                    Integer.signum(path.get(i + 1).c - path.get(i).c) != dc) return false;
-        }
-        return true;
+    //------Cell colour from found state (selection and flashes paint on top of it)----------------
+    private void paintCell(int r, int c) {
+        boolean found = foundCover[r][c] > 0;
+        gridView.setCellBackground(r, c, found ? FOUND : Color.WHITE);
+        gridView.setCellForeground(r, c, found ? Color.WHITE : Color.BLACK);
     }
-    private void flashErrorSelection() {
-        selected.forEach(c -> gridLabels[c.r][c.c].setBackground(Color.RED));
-        Timer timer = new Timer(300, new ActionListener() {
-            public void actionPerformed(ActionEvent e) {
 
-                selected.forEach(c -> gridLabels[c.r][c.c].setBackground(Color.WHITE));
-                ((Timer)e.getSource()).stop();
-            }
-        });
-        timer.setRepeats(false);
-        timer.start();
+    // What an effect fades back to: the selection colour, else the found state.
+    private int restingBackground(int r, int c) {
+        for (int i = 0; i < selected.size(); i++)
+            if (selected.get(i).r == r && selected.get(i).c == c)
+                return Color.YELLOW.getRGB();
+        return foundCover[r][c] > 0 ? FOUND.getRGB() : Color.WHITE.getRGB();
+    }
+
+    private void flashErrorSelection() {
+        CellAnimator animator = gridView.getAnimator();
+        for (int i = 0; i < selected.size(); i++) // selection is cleared right after this call
+            animator.flash(selected.get(i).r, selected.get(i).c, Color.RED, ERROR_FLASH_MILLIS);
     }
 
     private void onSubmitOrClear() {
@@ -226,54 +409,37 @@ public class WordSearchGameGUI extends JFrame {
             return;
         }
 
+        long start = System.nanoTime();
         String w=current.toString();
-        final int deduction=5;
-
-        if (w.length()<3) {
-            game.deductScore(deduction);
-            appendStatus("Word too short. -" +deduction+ " points.\n");
-            flashErrorSelection();
-            clearSelection(false);
-            updateScoreTitle();
-            return;
-        }
-        if (!game.getDictionary().contains(w)) {
-            game.deductScore(deduction);
-            appendStatus("\"" + w + "\" not in puzzle. -" +deduction+ " points.\n");
-            flashErrorSelection();
-            clearSelection(false);
-            updateScoreTitle();
-            return;
-        }
-        if (game.getFoundList().contains(w)) {
-            game.deductScore(deduction);
-            appendStatus("\"" + w + "\" already found. -" +deduction+ " points.\n");
-            flashErrorSelection();
-            clearSelection(false);
-            updateScoreTitle();
-            return;
-        }
-        if (!isLinear(selected)) {
-            game.deductScore(deduction);
-            appendStatus("Please select linearly. -" +deduction+ " points.\n");
+        final int deduction=WordSearchGame.DEDUCTION;
+
+        WordSearchGame.Outcome outcome = game.submit(w, selected);
+        if (journal != null)
+            journal.submit(outcome, game.getScore());
+        if (outcome != WordSearchGame.Outcome.FOUND) {
+            switch (outcome) {
+                case TOO_SHORT -> appendStatus("Word too short. -" +deduction+ " points.\n");
+                case NOT_IN_DICTIONARY -> appendStatus("\"" + w + "\" not in puzzle. -" +deduction+ " points.\n");
+                case ALREADY_FOUND -> appendStatus("\"" + w + "\" already found. -" +deduction+ " points.\n");
+                case NOT_LINEAR -> appendStatus("Please select linearly. -" +deduction+ " points.\n");
+                default -> appendStatus("\"" + w + "\" is not hidden there. -" +deduction+ " points.\n");
+            }
             flashErrorSelection();
             clearSelection(false);
             updateScoreTitle();
+            GameMetrics.submit(outcome, w.length(), start);
             return;
         }
 
         //-------------Word found----------------------
-        game.processFoundWord(w, selected);
-        selected.forEach(c -> {
-            gridLabels[c.r][c.c].setBackground(Color.GREEN.darker());
-            gridLabels[c.r][c.c].setForeground(Color.WHITE);
-        });
+        markFoundWordOnGrid(w);
 
         appendStatus("Found \"" + w + "\"! +" + (w.length() * 2) + " points\n");
 
         clearSelection(false);
-        refreshWordList();
+        refreshWordRow(w);
         updateScoreTitle();
+        GameMetrics.submit(outcome, w.length(), start);
 
         if (game.getFoundList().size() == game.getWordsToPlace().length) {
             JOptionPane.showMessageDialog(this, "CONGRATULATIONS! You found all words!");
@@ -282,52 +448,83 @@ public class WordSearchGameGUI extends JFrame {
     }
 
     private void onUndo() {
+        long start = System.nanoTime();
         String undone = game.undoLast();
+        if (journal != null)
+            journal.undo(undone == null ? -1 : game.getWordId(undone), game.getScore());
         if (undone == null)
             appendStatus("Nothing to undo.\n");
-        else
+        else {
             appendStatus("Undo \"" + undone + "\".\n");
-        refreshWordList();
-
-        for (int r = 0; r < ROWS; r++)
-            for (int c = 0; c < COLS; c++) {
-                gridLabels[r][c].setBackground(Color.WHITE);
-                gridLabels[r][c].setForeground(Color.BLACK);
-            }
+            unmarkFoundWordOnGrid(undone);
+            refreshWordRow(undone);
+        }
+        updateScoreTitle();
+        GameMetrics.undo(undone != null, start);
+    }
 
-        for (String fw : game.getFoundList().toArray()) markFoundWordOnGrid(fw);
+    private void onRedo() {
+        String redone = game.redo();
+        if (journal != null)
+            journal.redo(redone == null ? -1 : game.getWordId(redone), game.getScore());
+        if (redone == null)
+            appendStatus("Nothing to redo.\n");
+        else {
+            appendStatus("Redo \"" + redone + "\".\n");
+            markFoundWordOnGrid(redone);
+            refreshWordRow(redone);
+        }
         updateScoreTitle();
     }
 
+    // Only the cells of the placed word are touched; the placement index says where they are.
     private void markFoundWordOnGrid(String word) {
-        char[] chars = word.toCharArray();
-        char[][] g = game.getGrid();
-        for (int r = 0; r < ROWS; r++)
-            for (int c = 0; c < COLS; c++)
-                for (int dir = 0; dir < 8; dir++) {
-                    int rr = r, cc = c, k = 0;
-                    while (k < chars.length && rr>=0 && rr<ROWS && cc>=0 && cc<COLS && g[rr][cc] == chars[k]) {
-                        rr += WordSearchGame.dr[dir];
-                        cc += WordSearchGame.dc[dir];
-                        k++;
-                    }
-                    if (k==chars.length) {
-                        rr=r;
-                        cc=c;
-                        for (int i= 0; i<chars.length;i++) {
-                            gridLabels[rr][cc].setBackground(Color.GREEN.darker());
-                            gridLabels[rr][cc].setForeground(Color.WHITE);
-                            rr += WordSearchGame.dr[dir];
-                            cc += WordSearchGame.dc[dir];
-                        }
-                    }
-                }
+        if (spectators != null)
+            spectators.found(game.getWordId(word));
+        for (Coord c : game.cellsOf(word)) {
+            foundCover[c.r][c.c]++;
+            paintCell(c.r, c.c);
+        }
+        PuzzleGenerator.Placement p = game.getPlacement(word);
+        gridView.getAnimator().sweep(p.row(), p.col(), PuzzleGenerator.DR[p.dir()], PuzzleGenerator.DC[p.dir()], p.length(),
+                Color.ORANGE, SWEEP_STEP_MILLIS, SWEEP_FADE_MILLIS);
+    }
+
+    private void unmarkFoundWordOnGrid(String word) {
+        if (spectators != null)
+            spectators.unfound(game.getWordId(word));
+        for (Coord c : game.cellsOf(word)) {
+            if (foundCover[c.r][c.c] > 0)
+                foundCover[c.r][c.c]--;
+            paintCell(c.r, c.c);
+        }
+    }
+
+    private void onHint() {
+        String word = game.nextHint();
+        if (word == null) {
+            appendStatus("No words left to hint.\n");
+            return;
+        }
+        final int cost = HINT_COST;
+        game.deductScore(cost);
+        if (journal != null)
+            journal.hint(game.getWordId(word), game.getScore());
+        appendStatus("Hint: \"" + word + "\" is highlighted. -" + cost + " points.\n");
+        updateScoreTitle();
+        for (Coord c : game.cellsOf(word))
+            gridView.getAnimator().flash(c.r, c.c, Color.CYAN, HINT_MILLIS);
     }
 
     private void onLeaderboard() {
         game.saveScore();
         JDialog dlg = new JDialog(this, "Leaderboard", true);
-        JTextArea txt = new JTextArea(game.getLeaderboard().printDescToString());
+        WordSearchGame.Leaderboard board = game.getLeaderboard();
+        StringBuilder sb = new StringBuilder(board.printDescToString(LEADERBOARD_ROWS));
+        int rank = board.rank(game.getPlayerName());
+        if (rank > LEADERBOARD_ROWS)
+            sb.append("...\n").append(rank).append(". ").append(game.getPlayerName()).append(" : ").append(board.scoreOf(game.getPlayerName())).append("\n");
+        JTextArea txt = new JTextArea(sb.toString());
         txt.setEditable(false);
         dlg.add(new JScrollPane(txt));
         dlg.setSize(360, 300);
@@ -344,93 +541,151 @@ public class WordSearchGameGUI extends JFrame {
     public List getSelected() {
         return selected;
     }
-    private static record Coord(int r, int c) {
+    static record Coord(int r, int c) {
     }
 
 
-    private static class WordSearchGame {
+    static class WordSearchGame {
+        static final int DEFAULT_ROWS=10;
+        static final int DEFAULT_COLS=10;
+        static final String[] DEFAULT_WORDS = {"JAVA","CODE","PLAYER","STACK","QUEUE","METHOD", "PUBLIC", "ERROR", "CONST", "FINAL", "FIELD"};
+
         WordSearchGame() {
-            for(String w: wordsToPlace){
-                dictionary.insert(w);
-            }
+            this(DEFAULT_ROWS,DEFAULT_COLS,DEFAULT_WORDS,new Random());
+        }
+        WordSearchGame(int rows,int cols,String[] words,Random random) {
+            this.rows=rows;
+            this.cols=cols;
+            this.random=random;
+            generator=new PuzzleGenerator(rows,cols,random);
+            grid=generator.getGrid();
+            wordsToPlace=words.clone();
             placeWordsRandomly();
+            indexWords();
             fillRandomLetters();
+            packed=new PackedGrid(grid);
+        }
+        // A game over a grid that is already filled in (snapshots, cached puzzles); words come from the placements.
+        WordSearchGame(char[][] grid,List<PuzzleGenerator.Placement> placements,Random random) {
+            this(grid,placements,List.of(),random);
+        }
+        // The same, for a generated puzzle that could not fit the unplaced words.
+        WordSearchGame(char[][] grid,List<PuzzleGenerator.Placement> placements,List<String> unplaced,Random random) {
+            this.rows=grid.length;
+            this.cols=grid.length==0 ? 0 : grid[0].length;
+            this.random=random;
+            generator=null;
+            this.grid=grid;
+            this.placements=placements;
+            this.unplacedWords=List.copyOf(unplaced);
+            wordsToPlace=new String[placements.size()];
+            for (int i=0;i<wordsToPlace.length;i++) {
+                PuzzleGenerator.Placement p=placements.get(i);
+                wordsToPlace[i]=p.word();
+                placementIndex.put(p.word(),p);
+            }
+            indexWords();
+            packed=new PackedGrid(grid);
+        }
+        private void indexWords() {
+            for(int id=0;id<wordsToPlace.length;id++){
+                dictionary.insert(wordsToPlace[id]);
+                wordIds.putIfAbsent(wordsToPlace[id],id);
+            }
+            foundList=new FoundList(wordIds);
         }
 
-        private final char[][] grid={
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'},
-                {'X','X','X','X','X','X','X','X','X','X'}
-        };
+        private final int rows;
+        private final int cols;
+        private final PuzzleGenerator generator;
+        private final char[][] grid;
+        private PackedGrid packed; // same letters, bit-packed for whole-grid searches
+        private List<PuzzleGenerator.Placement> placements;
+        private final Map<String,PuzzleGenerator.Placement> placementIndex=new HashMap<>(); // word -> where it was placed
         private int score=0;
         private String playerName="Player";
-        private String[] wordsToPlace = {"JAVA","CODE","PLAYER","STACK","QUEUE","METHOD", "PUBLIC", "ERROR", "CONST", "FINAL", "FIELD"};
-        private FoundList foundList = new FoundList();
-        private Deque<FoundWord> Stack = new ArrayDeque<>();
-        private ScoreBST leaderboard = new ScoreBST();
-        private WordBST dictionary = new WordBST();
-        private static final int[] dr={-1,-1,0,1,1,1,0,-1};
-        private static final int[] dc={0,1,1,1,0,-1,-1,-1};
-
-        private Random random = new Random();
-        private static final int ROWS=10;
-        private static final int COLS=10;
+        private String[] wordsToPlace;
+        private List<String> unplacedWords=List.of(); // words the generator could not fit; not part of this game
+        private final Map<String,Integer> wordIds=new HashMap<>(); // word -> index in wordsToPlace
+        private FoundList foundList;
+        private final MoveHistory history=new MoveHistory(); // found words, undoable and redoable
+        private Leaderboard leaderboard = new ScoreTree();
+        private LeaderboardStore store; // optional, scores are also appended to disk when set
+        private WordTrie dictionary = new WordTrie();
+        private static final int[] dr=PuzzleGenerator.DR;
+        private static final int[] dc=PuzzleGenerator.DC;
+
+        private final Random random;
 
         private void fillRandomLetters() {
-            for (int r=0;r<ROWS;r++) {
-                for (int c=0;c<COLS;c++) {
-                    if (grid[r][c]=='X') {
-                        char randomChar = (char) ('A' + random.nextInt(26));
-                        grid[r][c]=randomChar;
-                    }
-                }
-            }
+            generator.fill(placements); // also re-rolls filler that spelled a word twice
         }
         private void placeWordsRandomly() {
-            for (String word : wordsToPlace) {
-                for (int attempt=0;attempt<100;attempt++) {
-                    int rStart=random.nextInt(ROWS);
-                    int cStart=random.nextInt(COLS);
-                    int dir=random.nextInt(8);
-
-                    if (canPlaceWord(word,rStart,cStart,dir)) {
-                        placeWord(word,rStart,cStart,dir);
-                        break;
-                    }
-                }
+            placements=generator.place(wordsToPlace);
+            for (PuzzleGenerator.Placement p : placements)
+                placementIndex.put(p.word(),p);
+            if (placements.size()<wordsToPlace.length) { // time budget ran out: only keep words that are really on the grid
+                String[] placed=new String[placements.size()];
+                for (int i=0;i<placed.length;i++)
+                    placed[i]=placements.get(i).word();
+                List<String> left=new ArrayList<>(Arrays.asList(wordsToPlace));
+                left.removeAll(Arrays.asList(placed));
+                unplacedWords=List.copyOf(left);
+                wordsToPlace=placed;
             }
         }
-        private boolean canPlaceWord(String word,int rStart,int cStart,int dir) {
-            int r=rStart;
-            int c=cStart;
-            for (char ch : word.toCharArray()) {
-                if (r<0 || r>=ROWS || c<0 || c>=COLS)
-                    return false;
-                if (grid[r][c]!='X' && grid[r][c]!=ch)
-                    return false;
-                r += dr[dir];
-                c += dc[dir];
-            }
-            return true;
+        public char[][] getGrid(){
+            return grid;
+        }
+        public PackedGrid getPackedGrid(){
+            return packed;
+        }
+        public int getRows(){
+            return rows;
+        }
+        public int getCols(){
+            return cols;
+        }
+        public List<PuzzleGenerator.Placement> getPlacements(){
+            return placements;
+        }
+        public PuzzleGenerator.Placement getPlacement(String word){
+            return placementIndex.get(word);
         }
-        private void placeWord(String word,int rStart,int cStart,int dir) {
-            int r=rStart;
-            int c=cStart;
-            for (char ch : word.toCharArray()) {
-                grid[r][c] = ch;
-                r+=dr[dir];
-                c+=dc[dir];
+        //------Path check against the index: start cell, direction and length only----------------
+        public boolean matchesPlacement(String word,List<Coord> path){
+            PuzzleGenerator.Placement p=placementIndex.get(word);
+            if (p==null || path.size()!=p.length())
+                return false;
+            Coord first=path.get(0);
+            if (first.r!=p.row() || first.c!=p.col())
+                return false;
+            if (path.size()==1)
+                return true;
+            Coord second=path.get(1);
+            return second.r-first.r==dr[p.dir()] && second.c-first.c==dc[p.dir()];
+        }
+        public List<Coord> cellsOf(String word){
+            PuzzleGenerator.Placement p=placementIndex.get(word);
+            if (p==null)
+                return Collections.emptyList();
+            List<Coord> cells=new ArrayList<>(p.length());
+            int r=p.row(),c=p.col();
+            for (int i=0;i<p.length();i++) {
+                cells.add(new Coord(r,c));
+                r+=dr[p.dir()];
+                c+=dc[p.dir()];
             }
+            return cells;
         }
-        public char[][] getGrid(){
-            return grid;
+        // First word in list order that has not been found yet, or null.
+        public String nextHint(){
+            int id=foundList.firstMissingId();
+            return id<wordsToPlace.length ? wordsToPlace[id] : null;
+        }
+        public int getWordId(String word){
+            Integer id=wordIds.get(word);
+            return id==null ? -1 : id;
         }
         public int getScore(){
             return score;
@@ -444,214 +699,577 @@ public class WordSearchGameGUI extends JFrame {
         public String[] getWordsToPlace(){
             return wordsToPlace;
         }
+        public List<String> getUnplacedWords(){
+            return unplacedWords;
+        }
         public FoundList getFoundList(){
             return foundList;
         }
-        public ScoreBST getLeaderboard(){
+        public Leaderboard getLeaderboard(){
             return leaderboard;
         }
-        public WordBST getDictionary(){
+        // Lets several games share one board, e.g. a ConcurrentLeaderboard across sessions.
+        public void setLeaderboard(Leaderboard board){
+            leaderboard=board;
+        }
+        public WordTrie getDictionary(){
             return dictionary;
         }
         //------Deduct points----------------
         public void deductScore(int points){
             score = Math.max(0, score - points);
         }
-        private static class FoundWord {
-            String word;
-            List<Coord> path;
-            FoundWord(String w,List<Coord> p){
-                word=w;
-                path=p;
+
+        //------Submit: the GUI and the server share these rules----------------
+        public enum Outcome { TOO_SHORT, NOT_IN_DICTIONARY, ALREADY_FOUND, NOT_LINEAR, WRONG_PLACE, FOUND }
+        public static final int DEDUCTION=5;
+        public static final int MIN_WORD=3;
+
+        // Checks the word read along path and applies the score change: +2 per letter or -DEDUCTION.
+        public Outcome submit(String word,List<Coord> path){
+            Outcome o=check(word,path);
+            if(o==Outcome.FOUND)
+                processFoundWord(word,path);
+            else
+                deductScore(DEDUCTION);
+            return o;
+        }
+        public Outcome check(String word,List<Coord> path){
+            if(word.length()<MIN_WORD)
+                return Outcome.TOO_SHORT;
+            if(!dictionary.contains(word))
+                return Outcome.NOT_IN_DICTIONARY;
+            if(foundList.contains(word))
+                return Outcome.ALREADY_FOUND;
+            if(!isLinear(path))
+                return Outcome.NOT_LINEAR;
+            if(!matchesPlacement(word,path))
+                return Outcome.WRONG_PLACE;
+            return Outcome.FOUND;
+        }
+        // Letters under the path, or null if it leaves the grid.
+        public String wordAt(List<Coord> path){
+            StringBuilder sb=new StringBuilder(path.size());
+            for(Coord c : path){
+                if(c.r<0 || c.r>=rows || c.c<0 || c.c>=cols)
+                    return null;
+                sb.append(grid[c.r][c.c]);
             }
+            return sb.toString();
+        }
+        // One straight line of neighbouring cells.
+        public static boolean isLinear(List<Coord> path){
+            if(path.size()<=1)
+                return true;
+            int stepR=path.get(1).r-path.get(0).r;
+            int stepC=path.get(1).c-path.get(0).c;
+            if(Math.abs(stepR)>1 || Math.abs(stepC)>1 || (stepR==0 && stepC==0))
+                return false;
+            for(int i=1;i<path.size()-1;i++){
+                if(path.get(i+1).r-path.get(i).r!=stepR || path.get(i+1).c-path.get(i).c!=stepC)
+                    return false;
+            }
+            return true;
         }
-
         public void processFoundWord(String word,List<Coord> path){
-            foundList.add(word);
-            Stack.push(new FoundWord(word,new ArrayList<>(path)));
-            score += word.length()*2;
+            foundList.addId(getWordId(word));
+            int delta=word.length()*2;
+            history.push(move(word,path,delta));
+            score += delta;
+        }
+        // Start cell and direction come from the player's path, or from the placement when there is none.
+        private long move(String word,List<Coord> path,int delta){
+            int r,c,dir=0;
+            if(path.isEmpty()){
+                PuzzleGenerator.Placement p=placementIndex.get(word);
+                r=p.row();
+                c=p.col();
+                dir=p.dir();
+            } else {
+                r=path.get(0).r;
+                c=path.get(0).c;
+                if(path.size()>1)
+                    for(int d=0;d<8;d++)
+                        if(path.get(1).r-r==dr[d] && path.get(1).c-c==dc[d])
+                            dir=d;
+            }
+            return MoveHistory.encode(getWordId(word),r,c,dir,word.length(),delta);
+        }
+        // Word IDs of the moves in effect (not the redo tail), oldest first.
+        int[] undoWordIds(){
+            int[] ids=new int[history.position()];
+            for(int i=0;i<ids.length;i++)
+                ids[i]=MoveHistory.wordId(history.get(i));
+            return ids;
+        }
+        // Replays found words (oldest first) without touching the score, then sets it; for version 1 snapshots.
+        void restoreProgress(int[] undoIds,int savedScore){
+            for(int id : undoIds){
+                String w=wordsToPlace[id];
+                foundList.addId(id);
+                history.push(move(w,Collections.emptyList(),w.length()*2));
+            }
+            score=savedScore;
+        }
+        // Puts back a saved history (the first position moves in effect, the rest redoable) and the score.
+        void restoreHistory(long[] moves,int position,int savedScore){
+            for(long m : moves)
+                history.push(m);
+            while(history.position()>position)
+                history.undo();
+            for(int i=0;i<position;i++)
+                foundList.addId(MoveHistory.wordId(moves[i]));
+            score=savedScore;
         }
+        //------Undo / redo / jump: only the history position moves----------------
         public String undoLast(){
-            if(Stack.isEmpty())
+            if(!history.canUndo())
                 return null;
-            FoundWord fw = Stack.pop();
-            if(foundList.remove(fw.word)){
-                score = Math.max(0,score-fw.word.length()*2);
-                return fw.word;
-            }
-            return null;
+            long m=history.get(history.position()-1);
+            if(!foundList.removeId(MoveHistory.wordId(m)))
+                return null; // history and found list disagree: move neither
+            history.undo();
+            String w=wordsToPlace[MoveHistory.wordId(m)];
+            int taken=Math.min(score,MoveHistory.scoreDelta(m)); // the score never goes below 0
+            if(taken!=MoveHistory.scoreDelta(m))
+                history.setLastUndone(MoveHistory.withScoreDelta(m,taken)); // so redo gives back only that
+            score-=taken;
+            return w;
+        }
+        public String redo(){
+            if(!history.canRedo())
+                return null;
+            long m=history.get(history.position());
+            if(foundList.containsId(MoveHistory.wordId(m)))
+                return null; // already counted as found: move neither
+            history.redo();
+            foundList.addId(MoveHistory.wordId(m));
+            score+=MoveHistory.scoreDelta(m);
+            return wordsToPlace[MoveHistory.wordId(m)];
+        }
+        // Undoes or redoes until exactly point moves are in effect (0 = none, getHistory().size() = all).
+        public void jumpTo(int point){
+            if(point<0 || point>history.size())
+                throw new IllegalArgumentException("No point "+point+" in a history of "+history.size());
+            while(history.position()>point)
+                if(undoLast()==null)
+                    return; // out of step, see undoLast
+            while(history.position()<point)
+                if(redo()==null)
+                    return;
+        }
+        public MoveHistory getHistory(){
+            return history;
+        }
+        public void setLeaderboardStore(LeaderboardStore s){
+            store=s;
+        }
+        // Keeps the player and the leaderboard of the game this one replaces.
+        void carryOver(WordSearchGame previous){
+            playerName=previous.playerName;
+            leaderboard=previous.leaderboard;
+            store=previous.store;
         }
         public void saveScore(){
             leaderboard.insert(playerName,score);
+            if(store!=null)
+                store.append(playerName,score);
         }
 
 
+        // Found words as a bitset over word IDs plus a count. The order they were found in lives in the
+        // move history, so adding and removing a word is a bit flip and never allocates.
         public static class FoundList{
-            private Node head;
+            private final Map<String,Integer> ids;
+            private final BitSet found=new BitSet();
+            private int[] addedAt; // by word ID: when it was last added, so toArray can list the newest first
+            private int clock=0;
             private int count=0;
-            private static class Node{
-                String word; Node next;
-                Node(String w){
-                    word=w;
-                }
+            public FoundList(){
+                this(Collections.emptyMap());
+            }
+            public FoundList(Map<String,Integer> ids){
+                this.ids=ids;
+                this.addedAt=new int[Math.max(1,ids.size())];
             }
             public void add(String w){
-                Node n=new Node(w);
-                n.next=head;
-                head=n;
-                count++;
+                Integer id=ids.get(w);
+                if(id!=null)
+                    addId(id);
             }
-            public boolean contains(String w){
-                Node cur=head;
-                while(cur!=null){
-                    if(cur.word.equals(w))
-                        return true;
-                    cur=cur.next;
+            public void addId(int id){
+                if(!found.get(id)){
+                    if(id>=addedAt.length)
+                        addedAt=Arrays.copyOf(addedAt,Math.max(id+1,addedAt.length*2));
+                    found.set(id);
+                    addedAt[id]=++clock;
+                    count++;
                 }
-                return false;
+            }
+            public boolean contains(String w){
+                Integer id=ids.get(w);
+                return id!=null && found.get(id);
+            }
+            public boolean containsId(int id){
+                return found.get(id);
+            }
+            public int firstMissingId(){
+                return found.nextClearBit(0);
             }
             public boolean remove(String w){
-                Node cur=head,prev=null;
-                while(cur!=null){
-                    if(cur.word.equals(w)){
-                        if(prev==null)
-                            head=cur.next;
-                        else
-                            prev.next=cur.next;
-                        count--;
-                        return true;
-                    }
-                    prev=cur;
-                    cur=cur.next;
-                }
-                return false;
+                Integer id=ids.get(w);
+                return id!=null && removeId(id);
+            }
+            public boolean removeId(int id){
+                if(!found.get(id))
+                    return false;
+                found.clear(id);
+                count--;
+                return true;
             }
             public int size(){
                 return count;
             }
+            // Found words, most recently added first.
             public String[] toArray(){
-                String[] arr=new String[count];
-                Node cur=head;
+                String[] byId=new String[found.length()];
+                for(Map.Entry<String,Integer> e : ids.entrySet())
+                    if(found.get(e.getValue()))
+                        byId[e.getValue()]=e.getKey();
+                Integer[] order=new Integer[count];
                 int i=0;
-                while(cur!=null){
-                    arr[i++]=cur.word;
-                    cur=cur.next;
-                }
+                for(int id=found.nextSetBit(0);id>=0;id=found.nextSetBit(id+1))
+                    order[i++]=id;
+                Arrays.sort(order,(a,b)->Integer.compare(addedAt[b],addedAt[a]));
+                String[] arr=new String[count];
+                for(i=0;i<count;i++)
+                    arr[i]=byId[order[i]];
                 return arr;
             }
         }
-        public static class WordBST {
-            private WordNode root;
+        public static class WordTrie {
+            // flat trie over A-Z: node n keeps its 26 child slots at next[n*26 .. n*26+25], 0 = no child
+            private static final int ALPHA=26;
+            private int[] next=new int[64*ALPHA];
+            private boolean[] terminal=new boolean[64];
+            private int nodes=1; // node 0 is the root
+            private int count=0;
 
-            private static class WordNode {
-                String word;
-                WordNode left,right;
+            public static final int ROOT=0;
+            public static final int NONE=-1;
 
-                WordNode(String w) {
-                    word=w;
-                }
-            }
             public void insert(String s) {
-                if (root==null) {
-                    root=new WordNode(s);
-                    return;
-                }
-
-                WordNode current=root;
-
-                while (true) {
-                    int compare=s.compareTo(current.word);
-
-                    if (compare<0) {
-                        if (current.left==null) {
-                            current.left=new WordNode(s);
-                            return;
-                        }
-                        current=current.left;
-                    }
-                    else if (compare > 0) {
-                        if (current.right==null) {
-                            current.right=new WordNode(s);
-                            return;
-                        }
-                        current=current.right;
-                    }
-                    else {
-                        return;
+                for (int i=0;i<s.length();i++)
+                    if (index(s.charAt(i))<0)
+                        return; // not A-Z; checked up front so no half-built prefix is left behind
+                int node=ROOT;
+                for (int i=0;i<s.length();i++) {
+                    int k=index(s.charAt(i));
+                    int child=next[node*ALPHA+k];
+                    if (child==0) {
+                        child=newNode();
+                        next[node*ALPHA+k]=child;
                     }
+                    node=child;
+                }
+                if (!terminal[node]) {
+                    terminal[node]=true;
+                    count++;
                 }
             }
             public boolean contains(String s) {
-                WordNode current=root;
-
-                while (current!=null) {
-                    int compare=s.compareTo(current.word);
-
-                    if (compare==0)
-                        return true;
-                    if (compare<0)
-                        current = current.left;
-                    else
-                        current=current.right;
+                int node=walk(s);
+                return node!=NONE && terminal[node];
+            }
+            public boolean hasPrefix(String s) {
+                return walk(s)!=NONE;
+            }
+            //------Cursor API: one step per selected letter----------------
+            public int step(int node,char ch) {
+                if (node==NONE)
+                    return NONE;
+                int k=index(ch);
+                if (k<0)
+                    return NONE;
+                int child=next[node*ALPHA+k];
+                return child==0 ? NONE : child;
+            }
+            public boolean isWord(int node) {
+                return node!=NONE && terminal[node];
+            }
+            public int walk(CharSequence s) {
+                int node=ROOT;
+                for (int i=0;i<s.length() && node!=NONE;i++)
+                    node=step(node,s.charAt(i));
+                return node;
+            }
+            public int size() {
+                return count;
+            }
+            private int newNode() {
+                if (nodes==terminal.length) {
+                    int cap=terminal.length*2;
+                    next=Arrays.copyOf(next,cap*ALPHA);
+                    terminal=Arrays.copyOf(terminal,cap);
                 }
-
-                return false;
+                return nodes++;
+            }
+            private static int index(char ch) {
+                int k=Character.toUpperCase(ch)-'A';
+                return (k>=0 && k<ALPHA) ? k : -1;
             }
         }
-        public static class ScoreBST{
+        // What games, the store and the server need from a leaderboard. ScoreTree is for one thread;
+        // ConcurrentLeaderboard is the one to share between sessions.
+        public interface Leaderboard{
+            void insert(String name,int score);
+            void loadSorted(String[] names,int[] scores,int n);
+            int size();
+            Integer scoreOf(String name);
+            int rank(String name);
+            List<ScoreTree.Entry> top(int k);
+            List<ScoreTree.Entry> page(int page,int pageSize);
+            List<ScoreTree.Entry> range(int from,int count);
+            String printDescToString();
+            String printDescToString(int limit);
+        }
+
+        // AVL tree ordered by (score desc, name asc); every node knows its subtree size, so rank and
+        // page lookups skip whole subtrees. The name index finds a player's node without a search.
+        public static class ScoreTree implements Leaderboard{
             private SNode root;
+            private final Map<String,SNode> byName=new HashMap<>();
             private static class SNode{
-                String name;
-                int score;
+                final String name;
+                final int score;
                 SNode left,right;
+                int height=1,size=1;
                 SNode(String n,int s){
                     name=n;
                     score=s;
                 }
             }
-            public void insert(String name,int score){
-                root=insertRec(root,name,score);
+            public static record Entry(int rank,String name,int score){
             }
-            private SNode insertRec(SNode node,String name,int score){
-                if(node==null)
-                    return new SNode(name,score);
-                if(name.equals(node.name)) {
-                    if(score>node.score)
-                        node.score=score;
-                    return node;
-                }
-                if(score>node.score)
-                    node.left=insertRec(node.left, name, score);
-                else if(score<node.score)
-                    node.right=insertRec(node.right, name, score);
-                else {
-                    if(name.compareTo(node.name) < 0)
-                        node.left = insertRec(node.left, name, score);
-                    else node.right = insertRec(node.right, name, score);
+
+            //------Upsert: a player keeps their best score----------------
+            // Builds a perfectly balanced tree from entries already in leaderboard order (LeaderboardStore snapshots).
+            public void loadSorted(String[] names,int[] scores,int n){
+                if(root!=null){
+                    for(int i=0;i<n;i++)
+                        insert(names[i],scores[i]);
+                    return;
                 }
+                root=build(names,scores,0,n-1);
+            }
+            private SNode build(String[] names,int[] scores,int lo,int hi){
+                if(lo>hi)
+                    return null;
+                int mid=(lo+hi)>>>1;
+                SNode node=new SNode(names[mid],scores[mid]);
+                byName.put(node.name,node);
+                node.left=build(names,scores,lo,mid-1);
+                node.right=build(names,scores,mid+1,hi);
+                update(node);
                 return node;
             }
+            public void insert(String name,int score){
+                SNode old=byName.get(name);
+                if(old!=null){
+                    if(score<=old.score)
+                        return;
+                    root=deleteRec(root,old);
+                }
+                SNode n=new SNode(name,score);
+                root=insertRec(root,n);
+                byName.put(name,n);
+            }
+            public int size(){
+                return size(root);
+            }
+            public Integer scoreOf(String name){
+                SNode n=byName.get(name);
+                return n==null ? null : n.score;
+            }
+            // 1-based rank of the player, or -1 if they have no score yet
+            public int rank(String name){
+                SNode target=byName.get(name);
+                if(target==null)
+                    return -1;
+                int before=0;
+                SNode cur=root;
+                while(cur!=null){
+                    int cmp=compare(target,cur);
+                    if(cmp==0)
+                        return before+size(cur.left)+1;
+                    if(cmp<0)
+                        cur=cur.left;
+                    else {
+                        before+=size(cur.left)+1;
+                        cur=cur.right;
+                    }
+                }
+                return -1;
+            }
+            public List<Entry> top(int k){
+                return range(0,k);
+            }
+            public List<Entry> page(int page,int pageSize){
+                return range(page*pageSize,pageSize);
+            }
+            // entries with 0-based positions [from, from+count), descending by score
+            public List<Entry> range(int from,int count){
+                int to=(int)Math.min(size(),Math.max(0,(long)from+count)); // from+count can overflow an int
+                List<Entry> out=new ArrayList<>(Math.max(0,to-Math.max(0,from)));
+                if(from>=0 && count>0)
+                    collect(root,0,from,to,out);
+                return out;
+            }
+            private void collect(SNode node,int offset,int from,int to,List<Entry> out){
+                if(node==null || offset>=to || offset+node.size<=from)
+                    return;
+                int here=offset+size(node.left);
+                collect(node.left,offset,from,to,out);
+                if(here>=from && here<to)
+                    out.add(new Entry(here+1,node.name,node.score));
+                collect(node.right,here+1,from,to,out);
+            }
             public String printDescToString(){
+                return printDescToString(Integer.MAX_VALUE);
+            }
+            public String printDescToString(int limit){
                 if(root==null)
                     return "(no scores yet)";
                 StringBuilder sb=new StringBuilder();
-                printRec(root,sb,1);
+                for(Entry e : top(limit))
+                    sb.append(e.rank()).append(". ").append(e.name()).append(" : ").append(e.score()).append("\n");
                 return sb.toString();
             }
-            private int printRec(SNode node, StringBuilder sb, int rank) {
-                if (node == null)
-                    return rank;
-                rank = printRec(node.left, sb, rank);
-                sb.append(rank + ". " + node.name + " : " + node.score + "\n");
-                rank++;
-                rank = printRec(node.right, sb, rank);
-                return rank;
+
+            private static int compare(SNode a,SNode b){
+                if(a.score!=b.score)
+                    return a.score>b.score ? -1 : 1;
+                return a.name.compareTo(b.name);
+            }
+            private static int size(SNode n){
+                return n==null ? 0 : n.size;
+            }
+            private static int height(SNode n){
+                return n==null ? 0 : n.height;
+            }
+            private static void update(SNode n){
+                n.height=Math.max(height(n.left),height(n.right))+1;
+                n.size=size(n.left)+size(n.right)+1;
+            }
+            private static SNode rotateRight(SNode y){
+                SNode x=y.left;
+                y.left=x.right;
+                x.right=y;
+                update(y);
+                update(x);
+                return x;
+            }
+            private static SNode rotateLeft(SNode x){
+                SNode y=x.right;
+                x.right=y.left;
+                y.left=x;
+                update(x);
+                update(y);
+                return y;
+            }
+            private static SNode balance(SNode n){
+                update(n);
+                int bf=height(n.left)-height(n.right);
+                if(bf>1){
+                    if(height(n.left.left)<height(n.left.right))
+                        n.left=rotateLeft(n.left);
+                    return rotateRight(n);
+                }
+                if(bf<-1){
+                    if(height(n.right.right)<height(n.right.left))
+                        n.right=rotateRight(n.right);
+                    return rotateLeft(n);
+                }
+                return n;
+            }
+            private static SNode insertRec(SNode node,SNode n){
+                if(node==null)
+                    return n;
+                if(compare(n,node)<0)
+                    node.left=insertRec(node.left,n);
+                else
+                    node.right=insertRec(node.right,n);
+                return balance(node);
+            }
+            private static SNode deleteRec(SNode node,SNode target){
+                if(node==null)
+                    return null;
+                int cmp=compare(target,node);
+                if(cmp<0)
+                    node.left=deleteRec(node.left,target);
+                else if(cmp>0)
+                    node.right=deleteRec(node.right,target);
+                else {
+                    if(node.left==null)
+                        return node.right;
+                    if(node.right==null)
+                        return node.left;
+                    SNode min=node.right;
+                    while(min.left!=null)
+                        min=min.left;
+                    min.right=deleteRec(node.right,min);
+                    min.left=node.left;
+                    return balance(min);
+                }
+                return balance(node);
             }
         }
     }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new WordSearchGameGUI());
+    public static void main(String[] args) throws java.io.IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--dense")) {
+            DenseGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--giant")) {
+            GiantGridView.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            GameServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        String wordFile = null;
+        if (args.length > 1 && args[0].equals("--words")) { // --words <word list or dictionary image> [rows cols [seed]]
+            wordFile = args[1];
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        if (args.length > 1 && args[0].equals("--broadcast")) { // --broadcast <port>: watch with SpectatorFeed <host> <port>
+            spectators = new SpectatorFeed();
+            System.out.println("Spectators can watch on port " + spectators.listen(Integer.parseInt(args[1])));
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+        int rows = args.length >= 2 ? Integer.parseInt(args[0]) : WordSearchGame.DEFAULT_ROWS;
+        int cols = args.length >= 2 ? Integer.parseInt(args[1]) : WordSearchGame.DEFAULT_COLS;
+        Long seed = args.length >= 3 ? Long.parseLong(args[2]) : null;
+        if (wordFile != null) { // the window plays one draw of words; with a seed the draw is repeatable too
+            DictionaryImage dict = DictionaryImage.load(java.nio.file.Paths.get(wordFile));
+            puzzleWords = dict.sample(WordSearchGame.DEFAULT_WORDS.length, Math.max(rows, cols), seed != null ? new Random(seed) : new Random());
+            if (puzzleWords.length == 0)
+                throw new IllegalArgumentException("No words of " + WordSearchGame.MIN_WORD + ".." + Math.max(rows, cols) + " letters in " + wordFile);
+        }
+        if (seed != null)
+            PUZZLES.get(rows, cols, puzzleWords, seed);
+        PUZZLES.prefetch(rows, cols, puzzleWords);
+        long first = seed != null ? seed : PUZZLES.takeSeed(rows, cols, puzzleWords);
+        if (!PUZZLES.get(rows, cols, puzzleWords, first).isDone())
+            System.out.println("Generating a " + rows + "x" + cols + " puzzle...");
+        PUZZLES.puzzle(rows, cols, puzzleWords, first); // the pool's threads are daemons, so main must outlive the wait
+        open(rows, cols, first);
 
     }
 
@@ -0,0 +1,28 @@
+package bench;
+
+import java.util.*;
+
+// Shared inputs for the benchmarks: random upper-case words with a fixed seed, so runs are comparable.
+final class BenchData {
+
+    private BenchData() {
+    }
+
+    static String[] randomWords(int count, int minLen, int maxLen, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        while (words.size() < count) {
+            int len = minLen + random.nextInt(maxLen - minLen + 1);
+            char[] w = new char[len];
+            for (int i = 0; i < len; i++)
+                w[i] = (char) ('A' + random.nextInt(26));
+            words.add(new String(w));
+        }
+        return words.toArray(new String[0]);
+    }
+
+    // As many words as fit comfortably (about a third of the cells) so placement never runs out of time.
+    static int feasibleWordCount(int rows, int cols, int wanted, int avgLen) {
+        return Math.max(1, Math.min(wanted, rows * cols / 3 / avgLen));
+    }
+}
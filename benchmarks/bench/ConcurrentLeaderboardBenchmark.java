@@ -0,0 +1,55 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// One ConcurrentLeaderboard shared by writer threads saving scores and reader threads asking for the top 10.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Group)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentLeaderboardBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private Object board;
+    private String[] names;
+
+    @State(Scope.Thread)
+    public static class Rng {
+        long next = System.nanoTime();
+    }
+
+    @Setup
+    public void setup() throws Throwable {
+        names = new String[entries];
+        for (int i = 0; i < entries; i++)
+            names[i] = "player" + i;
+        board = (Object) Game.NEW_SHARED_BOARD.invokeExact();
+        long x = 42;
+        for (String n : names) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+            Game.SHARED_INSERT.invokeExact(board, n, (int) ((x >>> 33) % 100_000));
+        }
+    }
+
+    @Benchmark
+    @Group("saveAndRead")
+    @GroupThreads(3)
+    public void insert(Rng rng) throws Throwable {
+        rng.next = rng.next * 6364136223846793005L + 1442695040888963407L;
+        int i = (int) ((rng.next >>> 33) % entries);
+        Game.SHARED_INSERT.invokeExact(board, names[i], (int) ((rng.next >>> 13) % 100_000));
+    }
+
+    @Benchmark
+    @Group("saveAndRead")
+    @GroupThreads(1)
+    public List<?> top10() throws Throwable {
+        return (List<?>) Game.SHARED_TOP.invokeExact(board, 10);
+    }
+}
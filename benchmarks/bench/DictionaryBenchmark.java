@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// WordTrie (the game dictionary): bulk insert and lookups with a 50/50 hit/miss mix.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryBenchmark {
+
+    @Param({"1000", "100000", "500000"})
+    public int dictSize;
+
+    private String[] words;
+    private String[] probes;
+    private Object trie;
+    private int next;
+
+    @Setup
+    public void setup() throws Throwable {
+        words = BenchData.randomWords(dictSize, 3, 12, 1);
+        String[] misses = BenchData.randomWords(1024, 3, 12, 2);
+        probes = new String[2048];
+        for (int i = 0; i < 1024; i++) {
+            probes[2 * i] = words[(int) ((long) i * 7919 % dictSize)];
+            probes[2 * i + 1] = misses[i];
+        }
+        trie = insertAll();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object insertAll() throws Throwable {
+        Object t = (Object) Game.NEW_TRIE.invokeExact();
+        for (String w : words)
+            Game.TRIE_INSERT.invokeExact(t, w);
+        return t;
+    }
+
+    @Benchmark
+    public boolean contains() throws Throwable {
+        return (boolean) Game.TRIE_CONTAINS.invokeExact(trie, probes[next++ & 2047]);
+    }
+
+    @Benchmark
+    public boolean hasPrefix() throws Throwable {
+        String p = probes[next++ & 2047];
+        return (boolean) Game.TRIE_HAS_PREFIX.invokeExact(trie, p.substring(0, 2));
+    }
+}
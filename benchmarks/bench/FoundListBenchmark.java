@@ -0,0 +1,45 @@
+package bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// FoundList lookups with half the words found, and the add/remove pair that submit + undo perform.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoundListBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int words;
+
+    private String[] list;
+    private Object found;
+    private int next;
+
+    @Setup
+    public void setup() throws Throwable {
+        list = BenchData.randomWords(words, 3, 10, 3);
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < list.length; i++)
+            ids.put(list[i], i);
+        found = (Object) Game.NEW_FOUND_LIST.invokeExact((Map) ids);
+        for (int i = 0; i < list.length; i += 2)
+            Game.FOUND_ADD.invokeExact(found, list[i]);
+    }
+
+    @Benchmark
+    public boolean contains() throws Throwable {
+        return (boolean) Game.FOUND_CONTAINS.invokeExact(found, list[next++ % words]);
+    }
+
+    @Benchmark
+    public boolean addThenRemove() throws Throwable {
+        String w = list[(2 * (next++ % (words / 2)) + 1) % words]; // an unfound word
+        Game.FOUND_ADD.invokeExact(found, w);
+        return (boolean) Game.FOUND_REMOVE.invokeExact(found, w);
+    }
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+
+// JMH refuses benchmark classes in the default package, and Java cannot import the game's classes
+// out of it, so the benchmarks reach them through method handles. The handles are static final,
+// which lets the JIT inline them like direct calls.
+final class Game {
+
+    private static final String GAME = "WordSearchGameGUI$WordSearchGame";
+
+    static final MethodHandle NEW_TRIE = constructor(GAME + "$WordTrie");
+    static final MethodHandle TRIE_INSERT = method(GAME + "$WordTrie", "insert", void.class, String.class);
+    static final MethodHandle TRIE_CONTAINS = method(GAME + "$WordTrie", "contains", boolean.class, String.class);
+    static final MethodHandle TRIE_HAS_PREFIX = method(GAME + "$WordTrie", "hasPrefix", boolean.class, String.class);
+
+    static final MethodHandle NEW_FOUND_LIST = constructor(GAME + "$FoundList", Map.class);
+    static final MethodHandle FOUND_ADD = method(GAME + "$FoundList", "add", void.class, String.class);
+    static final MethodHandle FOUND_CONTAINS = method(GAME + "$FoundList", "contains", boolean.class, String.class);
+    static final MethodHandle FOUND_REMOVE = method(GAME + "$FoundList", "remove", boolean.class, String.class);
+
+    static final MethodHandle NEW_SCORE_TREE = constructor(GAME + "$ScoreTree");
+    static final MethodHandle SCORE_INSERT = method(GAME + "$ScoreTree", "insert", void.class, String.class, int.class);
+    static final MethodHandle SCORE_RANK = method(GAME + "$ScoreTree", "rank", int.class, String.class);
+    static final MethodHandle SCORE_PRINT = method(GAME + "$ScoreTree", "printDescToString", String.class, int.class);
+    static final MethodHandle SCORE_PAGE = method(GAME + "$ScoreTree", "page", List.class, int.class, int.class);
+
+    static final MethodHandle NEW_SHARED_BOARD = constructor("ConcurrentLeaderboard");
+    static final MethodHandle SHARED_INSERT = method("ConcurrentLeaderboard", "insert", void.class, String.class, int.class);
+    static final MethodHandle SHARED_TOP = method("ConcurrentLeaderboard", "top", List.class, int.class);
+
+    static final MethodHandle NEW_GAME = constructor(GAME, int.class, int.class, String[].class, Random.class);
+    static final MethodHandle GAME_WORDS = method(GAME, "getWordsToPlace", String[].class);
+    static final MethodHandle GAME_GRID = method(GAME, "getGrid", char[][].class);
+    static final MethodHandle GAME_CELLS_OF = method(GAME, "cellsOf", List.class, String.class);
+    static final MethodHandle GAME_PACKED = method(GAME, "getPackedGrid", Object.class);
+    static final MethodHandle PACKED_FIND = method("PackedGrid", "find", List.class, String.class);
+
+    static final MethodHandle NEW_GENERATOR = constructor("PuzzleGenerator", int.class, int.class, Random.class);
+    static final MethodHandle GEN_PLACE = method("PuzzleGenerator", "place", List.class, String[].class);
+    static final MethodHandle GEN_FILL = method("PuzzleGenerator", "fill", void.class);
+    static final MethodHandle GEN_GRID = method("PuzzleGenerator", "getGrid", char[][].class);
+    static final int[] DR = {-1, -1, 0, 1, 1, 1, 0, -1};
+    static final int[] DC = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private Game() {
+    }
+
+    // (args...) -> Object
+    private static MethodHandle constructor(String cls, Class<?>... params) {
+        try {
+            Constructor<?> c = Class.forName(cls).getDeclaredConstructor(params);
+            c.setAccessible(true);
+            MethodHandle h = MethodHandles.lookup().unreflectConstructor(c);
+            return h.asType(h.type().changeReturnType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // (Object receiver, args...) -> ret; an Object ret stands for any reference type
+    private static MethodHandle method(String cls, String name, Class<?> ret, Class<?>... params) {
+        try {
+            Method m = Class.forName(cls).getDeclaredMethod(name, params);
+            m.setAccessible(true);
+            MethodHandle h = MethodHandles.lookup().unreflect(m);
+            MethodType t = MethodType.methodType(ret == Object.class ? Object.class : ret, Object.class, params);
+            return h.asType(t);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
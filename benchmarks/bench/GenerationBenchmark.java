@@ -0,0 +1,48 @@
+package bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Puzzle generation (what placeWordsRandomly + fillRandomLetters do inside WordSearchGame) by grid size.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"10", "100", "500", "1000"})
+    public int gridSize;
+
+    @Param({"11", "1000"})
+    public int wordCount;
+
+    private String[] words;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        int n = BenchData.feasibleWordCount(gridSize, gridSize, wordCount, 7);
+        words = BenchData.randomWords(n, 3, Math.min(10, gridSize), 4);
+    }
+
+    @Benchmark
+    public Object newGame() throws Throwable {
+        return (Object) Game.NEW_GAME.invokeExact(gridSize, gridSize, words, new Random(seed++));
+    }
+
+    @Benchmark
+    public List<?> placeWords() throws Throwable {
+        Object gen = (Object) Game.NEW_GENERATOR.invokeExact(gridSize, gridSize, new Random(seed++));
+        return (List<?>) Game.GEN_PLACE.invokeExact(gen, words);
+    }
+
+    @Benchmark
+    public char[][] fillRandomLetters() throws Throwable {
+        Object gen = (Object) Game.NEW_GENERATOR.invokeExact(gridSize, gridSize, new Random(seed++));
+        Game.GEN_FILL.invokeExact(gen);
+        return (char[][]) Game.GEN_GRID.invokeExact(gen);
+    }
+}
@@ -0,0 +1,62 @@
+package bench;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Locating a placed word: the placement index (what markFoundWordOnGrid uses now), the packed bitboard
+// search, and the original cell x 8 directions scan as a baseline.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridSearchBenchmark {
+
+    @Param({"10", "100", "500", "1000"})
+    public int gridSize;
+
+    private Object game;
+    private Object packed;
+    private char[][] grid;
+    private String word;
+
+    @Setup
+    public void setup() throws Throwable {
+        String[] words = {"JAVA", "CODE", "PLAYER", "STACK", "QUEUE", "METHOD", "PUBLIC", "ERROR", "CONST", "FINAL", "FIELD"};
+        game = (Object) Game.NEW_GAME.invokeExact(gridSize, gridSize, words, new Random(5));
+        packed = (Object) Game.GAME_PACKED.invokeExact(game);
+        grid = (char[][]) Game.GAME_GRID.invokeExact(game);
+        word = ((String[]) Game.GAME_WORDS.invokeExact(game))[2];
+    }
+
+    @Benchmark
+    public List<?> placementIndex() throws Throwable {
+        return (List<?>) Game.GAME_CELLS_OF.invokeExact(game, word);
+    }
+
+    @Benchmark
+    public List<?> packedFind() throws Throwable {
+        return (List<?>) Game.PACKED_FIND.invokeExact(packed, word);
+    }
+
+    @Benchmark
+    public int cellScan() {
+        char[] chars = word.toCharArray();
+        int rows = grid.length, cols = grid[0].length, hits = 0;
+        for (int r = 0; r < rows; r++)
+            for (int c = 0; c < cols; c++)
+                for (int dir = 0; dir < 8; dir++) {
+                    int rr = r, cc = c, k = 0;
+                    while (k < chars.length && rr >= 0 && rr < rows && cc >= 0 && cc < cols && grid[rr][cc] == chars[k]) {
+                        rr += Game.DR[dir];
+                        cc += Game.DC[dir];
+                        k++;
+                    }
+                    if (k == chars.length)
+                        hits++;
+                }
+        return hits;
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// ScoreTree upserts and the queries behind the leaderboard dialog.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    private Object board;
+    private String[] names;
+    private long next = 1;
+
+    @Setup
+    public void setup() throws Throwable {
+        names = new String[entries];
+        for (int i = 0; i < entries; i++)
+            names[i] = "player" + i;
+        board = (Object) Game.NEW_SCORE_TREE.invokeExact();
+        long x = 42;
+        for (String n : names) {
+            x = x * 6364136223846793005L + 1442695040888963407L;
+            Game.SCORE_INSERT.invokeExact(board, n, (int) ((x >>> 33) % 100_000));
+        }
+    }
+
+    @Benchmark
+    public void insert() throws Throwable {
+        next = next * 6364136223846793005L + 1442695040888963407L;
+        int i = (int) ((next >>> 33) % entries);
+        Game.SCORE_INSERT.invokeExact(board, names[i], (int) ((next >>> 13) % 100_000));
+    }
+
+    @Benchmark
+    public int rank() throws Throwable {
+        next = next * 6364136223846793005L + 1442695040888963407L;
+        return (int) Game.SCORE_RANK.invokeExact(board, names[(int) ((next >>> 33) % entries)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String printDescToStringTop100() throws Throwable {
+        return (String) Game.SCORE_PRINT.invokeExact(board, 100);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<?> pageFromMiddle() throws Throwable {
+        return (List<?>) Game.SCORE_PAGE.invokeExact(board, entries / 200, 100);
+    }
+}
@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLeaderboardTest {
+
+    private static final int THREADS = 4;
+    private static final int PLAYERS = 200;
+    private static final int SAVES = 5_000; // per thread
+
+    @Test
+    void concurrentUpsertsKeepEachPlayersBest() throws Exception {
+        ConcurrentLeaderboard board = new ConcurrentLeaderboard();
+        int[][] scores = new int[THREADS][SAVES];
+        String[][] names = new String[THREADS][SAVES];
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < SAVES; i++) {
+                // half the saves hit players every thread shares, half hit this thread's own players
+                names[t][i] = random.nextBoolean() ? "shared" + random.nextInt(PLAYERS) : "t" + t + "p" + random.nextInt(PLAYERS);
+                scores[t][i] = random.nextInt(10_000);
+            }
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            done.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < SAVES; i++) {
+                    board.insert(names[thread][i], scores[thread][i]);
+                    if (i % 100 == 0) { // readers racing the writers must never see a broken listing
+                        board.rank(names[thread][i]);
+                        assertOrdered(board.top(20));
+                    }
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (Future<?> f : done)
+            f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        WordSearchGameGUI.WordSearchGame.ScoreTree expected = new WordSearchGameGUI.WordSearchGame.ScoreTree();
+        Map<String, Integer> highest = new HashMap<>();
+        for (int t = 0; t < THREADS; t++)
+            for (int i = 0; i < SAVES; i++) {
+                expected.insert(names[t][i], scores[t][i]);
+                highest.merge(names[t][i], scores[t][i], Math::max);
+            }
+        assertEquals(highest.size(), board.size());
+        for (Map.Entry<String, Integer> e : highest.entrySet())
+            assertEquals(e.getValue(), board.scoreOf(e.getKey()), e.getKey());
+
+        assertEquals(expected.size(), board.snapshot().size()); // brings the listing up to date
+        List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> top = board.top(100);
+        assertOrdered(top);
+        assertEquals(expected.range(0, 100), top);
+        for (String name : highest.keySet())
+            assertEquals(expected.rank(name), board.rank(name), name);
+        assertEquals(-1, board.rank("nobody"));
+    }
+
+    @Test
+    void rankCountsTheCallersOwnNewBestBeforeTheListingCatchesUp() {
+        ConcurrentLeaderboard board = new ConcurrentLeaderboard();
+        board.insert("amy", 50);
+        board.insert("bob", 40);
+        assertEquals(2, board.rank("bob"));
+        board.top(1); // fresh listing, which the next reads may reuse
+        board.insert("bob", 60);
+        assertEquals(1, board.rank("bob")); // ahead of amy even if the listing still has bob at 40
+        board.insert("cat", 50);
+        board.snapshot();
+        assertEquals(3, board.rank("cat")); // ties go by name
+    }
+
+    private static void assertOrdered(List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> entries) {
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            WordSearchGameGUI.WordSearchGame.ScoreTree.Entry e = entries.get(i);
+            assertEquals(i + 1, e.rank());
+            assertTrue(seen.add(e.name()), "duplicate " + e.name());
+            if (i > 0) {
+                WordSearchGameGUI.WordSearchGame.ScoreTree.Entry prev = entries.get(i - 1);
+                assertTrue(prev.score() > e.score() || (prev.score() == e.score() && prev.name().compareTo(e.name()) < 0),
+                        prev + " before " + e);
+            }
+        }
+    }
+}
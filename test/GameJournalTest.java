@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GameJournalTest {
+
+    @TempDir
+    Path dir;
+
+    // Plays the word the way the GUI does: select its cells, submit, then clear the selection.
+    private static void find(WordSearchGameGUI.WordSearchGame g, GameJournal j, String word) {
+        List<WordSearchGameGUI.Coord> path = g.cellsOf(word);
+        for (WordSearchGameGUI.Coord c : path)
+            j.select(c.r(), c.c());
+        j.submit(g.submit(word, path), g.getScore());
+        j.clear();
+    }
+
+    @Test
+    void replayRebuildsEveryActionOfEachGame() throws IOException {
+        Path file = dir.resolve("game.wsj");
+        WordSearchGameGUI.WordSearchGame g = new WordSearchGameGUI.WordSearchGame(10, 10, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, new Random(9));
+        WordSearchGameGUI.WordSearchGame second = new WordSearchGameGUI.WordSearchGame(8, 8, new String[]{"JAVA", "CODE"}, new Random(1));
+        String[] words = g.getWordsToPlace();
+        try (GameJournal j = new GameJournal(file)) {
+            j.startGame(g);
+            find(g, j, words[0]);
+            find(g, j, words[1]);
+            j.select(0, 0);
+            j.deselect();
+            j.select(0, 0);
+            List<WordSearchGameGUI.Coord> one = List.of(new WordSearchGameGUI.Coord(0, 0));
+            j.submit(g.submit(g.wordAt(one), one), g.getScore()); // too short: a miss that costs points
+            j.clear();
+            String undone = g.undoLast();
+            j.undo(g.getWordId(undone), g.getScore());
+            String redone = g.redo();
+            j.redo(g.getWordId(redone), g.getScore());
+            j.startGame(second);
+            find(second, j, "CODE");
+        }
+        List<GameJournal.ReplayedGame> games = GameJournal.replay(file);
+        assertEquals(2, games.size());
+        WordSearchGameGUI.WordSearchGame r = games.get(0).game();
+        assertEquals(g.getScore(), r.getScore());
+        assertEquals(2, r.getFoundList().size());
+        assertTrue(r.getFoundList().contains(words[1]));
+        assertEquals(0, games.get(0).eventsLost());
+        assertEquals(second.getScore(), games.get(1).game().getScore());
+    }
+
+    @Test
+    void replayRejectsAFileThatIsNotAJournal() throws IOException {
+        Path file = dir.resolve("bogus.wsj");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14});
+        assertThrows(IOException.class, () -> GameJournal.replay(file));
+    }
+}
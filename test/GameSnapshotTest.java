@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GameSnapshotTest {
+
+    private static WordSearchGameGUI.WordSearchGame game() {
+        return new WordSearchGameGUI.WordSearchGame(10, 10, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, new Random(5));
+    }
+
+    @Test
+    void roundTripKeepsGridWordsScoreNameAndHistory() throws IOException {
+        WordSearchGameGUI.WordSearchGame g = game();
+        g.setPlayerName("Zoë");
+        String[] words = g.getWordsToPlace();
+        g.processFoundWord(words[0], List.of());
+        g.processFoundWord(words[1], List.of());
+        g.undoLast();
+        WordSearchGameGUI.WordSearchGame r = GameSnapshot.read(GameSnapshot.write(g));
+        assertArrayEquals(g.getGrid(), r.getGrid());
+        assertArrayEquals(words, r.getWordsToPlace());
+        assertEquals(g.getScore(), r.getScore());
+        assertEquals("Zoë", r.getPlayerName());
+        assertEquals(1, r.getHistory().position());
+        assertEquals(2, r.getHistory().size());
+        assertEquals(words[1], r.redo()); // the redo tail survives too
+        for (String w : words)
+            assertEquals(g.getPlacement(w), r.getPlacement(w));
+    }
+
+    @Test
+    void resumedUndoTakesBackTheClampedDelta() throws IOException {
+        WordSearchGameGUI.WordSearchGame g = game();
+        String w = g.getWordsToPlace()[0];
+        g.processFoundWord(w, List.of());
+        g.deductScore(w.length() * 2 - 3);
+        g.undoLast(); // takes back 3, not the full word score
+        g.redo();
+        WordSearchGameGUI.WordSearchGame r = GameSnapshot.read(GameSnapshot.write(g));
+        g.deductScore(-10);
+        r.deductScore(-10);
+        g.undoLast();
+        r.undoLast();
+        assertEquals(g.getScore(), r.getScore());
+    }
+
+    @Test
+    void rejectsPlacementsOffTheGrid() {
+        byte[] data = GameSnapshot.write(game());
+        int first = 4 + 2 + 4 + 100 + 2; // header, 10x10 grid, word count
+        int len = data[first];
+        data[first + 1 + len + 4] = 9; // direction of the first word
+        assertThrows(IOException.class, () -> GameSnapshot.read(data));
+        byte[] far = GameSnapshot.write(game());
+        ByteBuffer.wrap(far).putShort(first + 1 + len, (short) 300); // its row
+        assertThrows(IOException.class, () -> GameSnapshot.read(far));
+    }
+
+    @Test
+    void rejectsOversizedGridsAndTruncatedData() {
+        byte[] data = GameSnapshot.write(game());
+        byte[] huge = data.clone();
+        ByteBuffer.wrap(huge).putShort(6, (short) 30000);
+        assertThrows(IOException.class, () -> GameSnapshot.read(huge));
+        byte[] cut = java.util.Arrays.copyOf(data, data.length - 3);
+        assertThrows(IOException.class, () -> GameSnapshot.read(cut));
+        byte[] magic = data.clone();
+        magic[0] = 0;
+        assertThrows(IOException.class, () -> GameSnapshot.read(magic));
+    }
+}
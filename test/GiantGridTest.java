@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GiantGridTest {
+
+    private static final int SIZE = 4 * GiantGrid.TILE; // 16 tiles
+    private static final String[] WORDS = WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS;
+
+    @TempDir
+    Path dir;
+
+    private GiantGrid open(String name, long seed) throws IOException {
+        return GiantGrid.open(dir.resolve(name), SIZE, SIZE, seed, WORDS);
+    }
+
+    private static char[][] tileAt(GiantGrid g, int tr, int tc) {
+        char[][] out = new char[GiantGrid.TILE][GiantGrid.TILE];
+        g.copy(tr * GiantGrid.TILE, tc * GiantGrid.TILE, out);
+        return out;
+    }
+
+    @Test
+    void aTileIsTheSameWhateverOrderTilesAreGeneratedIn() throws IOException {
+        try (GiantGrid forward = open("a.wsgg", 42); GiantGrid backward = open("b.wsgg", 42); GiantGrid other = open("c.wsgg", 43)) {
+            for (int t = 0; t < 16; t++)
+                tileAt(forward, t / 4, t % 4);
+            char[][] first = tileAt(backward, 2, 1); // its neighbours in backward are still unmade
+            assertArrayEquals(tileAt(forward, 2, 1), first);
+            assertEquals(1, backward.getTilesGenerated());
+            assertFalse(Arrays.deepEquals(first, tileAt(other, 2, 1)), "a different seed gives a different board");
+        }
+    }
+
+    @Test
+    void wordsCrossTileBoundariesIntact() throws IOException {
+        try (GiantGrid g = open("cross.wsgg", 7)) {
+            int crossing = 0;
+            for (PuzzleGenerator.Placement p : g.placementsIn(0, 0, SIZE, SIZE)) {
+                int r = p.row(), c = p.col();
+                int er = r + PuzzleGenerator.DR[p.dir()] * (p.length() - 1), ec = c + PuzzleGenerator.DC[p.dir()] * (p.length() - 1);
+                if (r / GiantGrid.TILE == er / GiantGrid.TILE && c / GiantGrid.TILE == ec / GiantGrid.TILE)
+                    continue;
+                crossing++;
+                for (int k = 0; k < p.length(); k++, r += PuzzleGenerator.DR[p.dir()], c += PuzzleGenerator.DC[p.dir()])
+                    assertEquals(p.word().charAt(k), g.letter(r, c), p.toString());
+                List<GridSolver.Hit> hits = g.find(p.word(), p.row(), p.col(), p.row() + 1, p.col() + 1);
+                assertTrue(hits.contains(new GridSolver.Hit(p.word(), p.row(), p.col(), p.dir())), p.toString());
+            }
+            assertTrue(crossing > 0, "no planned word crosses a tile edge");
+        }
+    }
+
+    @Test
+    void onlyTheTilesInViewAreGenerated() throws IOException {
+        try (GiantGrid g = open("view.wsgg", 1)) {
+            char[][] view = new char[30][40];
+            assertFalse(g.copyReady(10, 10, view)); // never generates
+            assertEquals(0, g.getTilesOnDisk());
+            g.copy(10, 10, view); // inside tile (0, 0)
+            assertEquals(1, g.getTilesGenerated());
+            g.copy(GiantGrid.TILE - 15, GiantGrid.TILE - 20, view); // over the corner of four tiles
+            assertEquals(4, g.getTilesGenerated());
+            assertTrue(g.copyReady(GiantGrid.TILE - 15, GiantGrid.TILE - 20, view));
+            g.prepare(3 * GiantGrid.TILE, 3 * GiantGrid.TILE, 3 * GiantGrid.TILE + 1, 3 * GiantGrid.TILE + 1);
+            assertEquals(5, g.getTilesOnDisk());
+        }
+    }
+
+    @Test
+    void paintingNewGroundLeavesTheWorkToTheLoader() throws Exception {
+        GiantGrid g = open("paint.wsgg", 3);
+        GiantGridView view = new GiantGridView(g);
+        view.setSize(SIZE * 20, SIZE * 20);
+        BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D gfx = image.createGraphics();
+        gfx.setClip(0, 0, 800, 600);
+        view.paint(gfx);
+        assertEquals(0xFFEBEBEB, image.getRGB(2, 2), "the unmade tile should paint as a placeholder");
+        long end = System.currentTimeMillis() + 10_000;
+        while (g.getTilesOnDisk() < 1 && System.currentTimeMillis() < end)
+            Thread.sleep(10);
+        assertEquals(1, g.getTilesOnDisk()); // the 41 x 31 cells in view all lie in tile (0, 0)
+        view.paint(gfx);
+        assertEquals(0xFFFFFFFF, image.getRGB(2, 2), "once generated the tile paints its letters");
+        gfx.dispose();
+        view.close();
+    }
+}
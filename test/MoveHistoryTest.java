@@ -0,0 +1,99 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MoveHistoryTest {
+
+    @Test
+    void packingRoundTripsEveryFieldAtItsLimits() {
+        long m = MoveHistory.encode(MoveHistory.MAX_WORD_ID, MoveHistory.MAX_CELL, 0, 7, MoveHistory.MAX_CELL, -MoveHistory.MAX_DELTA);
+        assertEquals(MoveHistory.MAX_WORD_ID, MoveHistory.wordId(m));
+        assertEquals(MoveHistory.MAX_CELL, MoveHistory.row(m));
+        assertEquals(0, MoveHistory.col(m));
+        assertEquals(7, MoveHistory.dir(m));
+        assertEquals(MoveHistory.MAX_CELL, MoveHistory.length(m));
+        assertEquals(-MoveHistory.MAX_DELTA, MoveHistory.scoreDelta(m));
+        long n = MoveHistory.withScoreDelta(m, 12);
+        assertEquals(12, MoveHistory.scoreDelta(n));
+        assertEquals(MoveHistory.wordId(m), MoveHistory.wordId(n));
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.encode(0, 0, 0, 8, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> MoveHistory.encode(MoveHistory.MAX_WORD_ID + 1, 0, 0, 0, 1, 0));
+    }
+
+    @Test
+    void newMoveDropsTheRedoTail() {
+        MoveHistory h = new MoveHistory();
+        for (int i = 0; i < 3; i++)
+            h.push(MoveHistory.encode(i, 0, 0, 0, 3, 6));
+        assertEquals(2, MoveHistory.wordId(h.undo()));
+        assertEquals(1, MoveHistory.wordId(h.undo()));
+        assertTrue(h.canRedo());
+        h.push(MoveHistory.encode(9, 0, 0, 0, 3, 6));
+        assertFalse(h.canRedo());
+        assertEquals(2, h.size());
+        assertEquals(9, MoveHistory.wordId(h.get(1)));
+    }
+
+    private static WordSearchGameGUI.WordSearchGame game() {
+        return new WordSearchGameGUI.WordSearchGame(10, 10, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, new Random(3));
+    }
+
+    @Test
+    void undoTakesBackOnlyWhatTheScoreHasAndRedoGivesBackTheSame() {
+        WordSearchGameGUI.WordSearchGame g = game();
+        String w = g.getWordsToPlace()[0];
+        g.processFoundWord(w, List.of());
+        int earned = w.length() * 2;
+        g.deductScore(earned - 3); // 3 points left
+        assertEquals(w, g.undoLast());
+        assertEquals(0, g.getScore());
+        assertEquals(w, g.redo());
+        assertEquals(3, g.getScore());
+        assertEquals(w, g.undoLast());
+        assertEquals(0, g.getScore());
+    }
+
+    @Test
+    void jumpMovesThroughTheHistoryAndKeepsTheFoundListInStep() {
+        WordSearchGameGUI.WordSearchGame g = game();
+        String[] words = g.getWordsToPlace();
+        for (int i = 0; i < 4; i++)
+            g.processFoundWord(words[i], List.of());
+        int full = g.getScore();
+        g.jumpTo(1);
+        assertEquals(1, g.getFoundList().size());
+        assertTrue(g.getFoundList().contains(words[0]));
+        assertFalse(g.getFoundList().contains(words[1]));
+        assertEquals(words[0].length() * 2, g.getScore());
+        g.jumpTo(4);
+        assertEquals(full, g.getScore());
+        assertEquals(4, g.getFoundList().size());
+        assertNull(g.redo());
+        assertThrows(IllegalArgumentException.class, () -> g.jumpTo(5));
+    }
+
+    @Test
+    void foundWordsListNewestFirstThroughUndoAndRedo() {
+        WordSearchGameGUI.WordSearchGame g = game();
+        String[] words = g.getWordsToPlace();
+        g.processFoundWord(words[2], List.of());
+        g.processFoundWord(words[0], List.of());
+        g.processFoundWord(words[1], List.of());
+        assertArrayEquals(new String[]{words[1], words[0], words[2]}, g.getFoundList().toArray());
+        g.undoLast();
+        g.undoLast();
+        assertArrayEquals(new String[]{words[2]}, g.getFoundList().toArray());
+        g.redo();
+        assertArrayEquals(new String[]{words[0], words[2]}, g.getFoundList().toArray());
+    }
+
+    @Test
+    void undoAndRedoOnEmptyHistoryDoNothing() {
+        WordSearchGameGUI.WordSearchGame g = game();
+        assertNull(g.undoLast());
+        assertNull(g.redo());
+        assertEquals(0, g.getHistory().position());
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class PackedGridTest {
+
+    private static char[][] randomGrid(int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        char[][] g = new char[rows][cols];
+        for (char[] row : g)
+            for (int c = 0; c < cols; c++)
+                row[c] = (char) ('A' + random.nextInt(4)); // few letters, so patterns repeat
+        return g;
+    }
+
+    // Every (row, col, dir) where the pattern reads, found the slow way.
+    private static Set<PackedGrid.Occurrence> bruteForce(char[][] g, String pattern) {
+        Set<PackedGrid.Occurrence> out = new HashSet<>();
+        for (int r = 0; r < g.length; r++)
+            for (int c = 0; c < g[0].length; c++)
+                for (int dir = 0; dir < 8; dir++) {
+                    int rr = r, cc = c, k = 0;
+                    for (; k < pattern.length(); k++, rr += PuzzleGenerator.DR[dir], cc += PuzzleGenerator.DC[dir]) {
+                        if (rr < 0 || rr >= g.length || cc < 0 || cc >= g[0].length)
+                            break;
+                        if (pattern.charAt(k) != PackedGrid.WILDCARD && g[rr][cc] != pattern.charAt(k))
+                            break;
+                    }
+                    if (k == pattern.length())
+                        out.add(new PackedGrid.Occurrence(r, c, dir));
+                }
+        return out;
+    }
+
+    @Test
+    void findMatchesBruteForceAcrossWordBoundaries() {
+        for (int[] size : new int[][]{{5, 5}, {9, 13}, {17, 70}}) { // 70 columns puts rows across 64-bit words
+            char[][] g = randomGrid(size[0], size[1], size[0] * 31L + size[1]);
+            PackedGrid p = new PackedGrid(g);
+            for (String pattern : new String[]{"AB", "ABC", "A?C", "DDD", "B", "ABCDA"}) {
+                Set<PackedGrid.Occurrence> expected = bruteForce(g, pattern);
+                assertEquals(expected, new HashSet<>(p.find(pattern)), pattern + " in " + size[0] + "x" + size[1]);
+                assertEquals(expected.size(), p.count(pattern));
+            }
+        }
+    }
+
+    @Test
+    void setAndGetRoundTrip() {
+        char[][] g = randomGrid(6, 7, 1);
+        PackedGrid p = new PackedGrid(g);
+        p.set(3, 4, 'Z');
+        g[3][4] = 'Z';
+        assertEquals('Z', p.get(3, 4));
+        assertArrayEquals(g, p.toCharGrid());
+        assertTrue(p.occursAt("Z", 3, 4, 0));
+        assertFalse(p.occursAt("ZZZZZZZZ", 3, 4, 2));
+    }
+}
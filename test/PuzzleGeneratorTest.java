@@ -0,0 +1,42 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import org.junit.jupiter.api.Test;
+
+class PuzzleGeneratorTest {
+
+    private static String[] words(int n, int len, Random random) {
+        Set<String> out = new LinkedHashSet<>();
+        while (out.size() < n) {
+            char[] w = new char[len];
+            for (int i = 0; i < len; i++)
+                w[i] = (char) ('A' + random.nextInt(26));
+            out.add(new String(w));
+        }
+        return out.toArray(new String[0]);
+    }
+
+    @Test
+    void crowdedGridStillFitsEveryWord() {
+        String[] words = words(40, 5, new Random(7));
+        PuzzleGenerator.Puzzle p = PuzzleGenerator.generate(15, 15, words, new Random(3), PuzzleGenerator.DEFAULT_BUDGET_MILLIS);
+        assertTrue(p.isComplete(), "unplaced: " + p.unplaced());
+        for (PuzzleGenerator.Placement pl : p.placements()) {
+            int r = pl.row(), c = pl.col();
+            for (int i = 0; i < pl.length(); i++) {
+                assertEquals(pl.word().charAt(i), p.grid()[r][c], pl.word());
+                r += PuzzleGenerator.DR[pl.dir()];
+                c += PuzzleGenerator.DC[pl.dir()];
+            }
+        }
+    }
+
+    @Test
+    void impossibleWordsAreReportedNotDropped() {
+        // six 5-letter words with no letters in common need 30 cells; a 5x5 grid has 25
+        String[] words = {"AAAAA", "BBBBB", "CCCCC", "DDDDD", "EEEEE", "FFFFF"};
+        PuzzleGenerator.Puzzle p = PuzzleGenerator.generate(5, 5, words, new Random(1), 200);
+        assertFalse(p.isComplete());
+        assertEquals(words.length, p.placements().size() + p.unplaced().size());
+    }
+}
@@ -0,0 +1,85 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ScoreTreeTest {
+
+    private static WordSearchGameGUI.WordSearchGame.ScoreTree board(int players) {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = new WordSearchGameGUI.WordSearchGame.ScoreTree();
+        for (int i = 0; i < players; i++)
+            t.insert("p" + i, i * 10);
+        return t;
+    }
+
+    @Test
+    void ranksByScoreThenName() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = new WordSearchGameGUI.WordSearchGame.ScoreTree();
+        t.insert("bob", 50);
+        t.insert("amy", 50);
+        t.insert("cat", 70);
+        assertEquals(1, t.rank("cat"));
+        assertEquals(2, t.rank("amy"));
+        assertEquals(3, t.rank("bob"));
+        assertEquals(-1, t.rank("nobody"));
+    }
+
+    @Test
+    void keepsEachPlayersBestScore() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = board(5);
+        t.insert("p0", 100);
+        t.insert("p4", 1);
+        assertEquals(100, t.scoreOf("p0"));
+        assertEquals(40, t.scoreOf("p4"));
+        assertEquals(5, t.size());
+        assertEquals(1, t.rank("p0"));
+    }
+
+    @Test
+    void rankMatchesSortedOrderAfterManyUpdates() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = new WordSearchGameGUI.WordSearchGame.ScoreTree();
+        Map<String, Integer> best = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            String name = "p" + random.nextInt(500);
+            int score = random.nextInt(1000);
+            t.insert(name, score);
+            best.merge(name, score, Math::max);
+        }
+        List<Map.Entry<String, Integer>> sorted = new ArrayList<>(best.entrySet());
+        sorted.sort((a, b) -> !a.getValue().equals(b.getValue()) ? b.getValue() - a.getValue() : a.getKey().compareTo(b.getKey()));
+        for (int i = 0; i < sorted.size(); i++)
+            assertEquals(i + 1, t.rank(sorted.get(i).getKey()));
+        List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> all = t.top(Integer.MAX_VALUE);
+        assertEquals(sorted.size(), all.size());
+        for (int i = 0; i < all.size(); i++)
+            assertEquals(sorted.get(i).getKey(), all.get(i).name());
+    }
+
+    @Test
+    void rangeAndPageSliceTheBoard() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = board(10);
+        List<WordSearchGameGUI.WordSearchGame.ScoreTree.Entry> r = t.range(8, 5);
+        assertEquals(2, r.size());
+        assertEquals(new WordSearchGameGUI.WordSearchGame.ScoreTree.Entry(9, "p1", 10), r.get(0));
+        assertEquals(t.range(3, 3), t.page(1, 3));
+        assertTrue(t.range(20, 3).isEmpty());
+        assertTrue(t.range(-1, 3).isEmpty());
+    }
+
+    @Test
+    void rangeWithHugeCountDoesNotOverflow() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = board(10);
+        assertEquals(7, t.range(3, Integer.MAX_VALUE).size());
+        assertEquals(10, t.range(0, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void loadSortedBuildsTheSameBoard() {
+        WordSearchGameGUI.WordSearchGame.ScoreTree t = new WordSearchGameGUI.WordSearchGame.ScoreTree();
+        t.loadSorted(new String[]{"a", "b", "c"}, new int[]{30, 20, 10}, 3);
+        assertEquals(2, t.rank("b"));
+        assertEquals("1. a : 30\n2. b : 20\n", t.printDescToString(2));
+    }
+}
@@ -0,0 +1,180 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SpectatorFeedTest {
+
+    private static final long WAIT_MILLIS = 10_000;
+
+    // Records every seq it is handed, so the test can check nothing was skipped or reordered.
+    private static class Recording extends SpectatorFeed.Spectator {
+        final List<Integer> seqs = Collections.synchronizedList(new ArrayList<>());
+        final List<Byte> types = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public synchronized void apply(byte type, int s, ByteBuffer in) {
+            seqs.add(s);
+            types.add(type);
+            super.apply(type, s, in);
+        }
+    }
+
+    private static WordSearchGameGUI.WordSearchGame newGame() {
+        return new WordSearchGameGUI.WordSearchGame(10, 10, WordSearchGameGUI.WordSearchGame.DEFAULT_WORDS, new Random(4));
+    }
+
+    // Waits until the spectator holds the final score the producer sent, then until it has the feed's last seq.
+    private static void awaitCaughtUp(SpectatorFeed feed, SpectatorFeed.Spectator s, int score) throws InterruptedException {
+        long end = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!(s.hasGame() && s.getScore() == score && s.getSeq() == feed.getSeq())) {
+            if (System.currentTimeMillis() > end)
+                fail("spectator stuck at seq " + s.getSeq() + " score " + s.getScore() + ", feed at seq " + feed.getSeq());
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> foundByProducer(WordSearchGameGUI.WordSearchGame game) {
+        List<String> out = new ArrayList<>();
+        for (String w : game.getWordsToPlace()) // word ID order, as a spectator lists them
+            if (game.getFoundList().contains(w))
+                out.add(w);
+        return out;
+    }
+
+    private static void find(WordSearchGameGUI.WordSearchGame game, SpectatorFeed feed, String word) {
+        List<WordSearchGameGUI.Coord> path = game.cellsOf(word);
+        for (WordSearchGameGUI.Coord c : path)
+            feed.select(c.r(), c.c());
+        game.submit(word, path);
+        feed.found(game.getWordId(word));
+        feed.clear();
+        feed.score(game.getScore());
+    }
+
+    // The three characters render() draws for one cell: the letter, bracketed when selected.
+    private static String cell(String render, WordSearchGameGUI.Coord c) {
+        return render.split("\n")[c.r() + 1].substring(c.c() * 3, c.c() * 3 + 3);
+    }
+
+    private static void assertContiguous(Recording r) {
+        assertEquals(SpectatorFeed.SNAPSHOT, (byte) r.types.get(0), "first message must be a snapshot");
+        for (int i = 1; i < r.seqs.size(); i++)
+            assertEquals(r.seqs.get(i - 1) + 1, (int) r.seqs.get(i), "seq gap in " + r.seqs);
+    }
+
+    @Test
+    void inProcessAndLoopbackWatchersFollowTheProducer() throws Exception {
+        WordSearchGameGUI.WordSearchGame game = newGame();
+        String[] words = game.getWordsToPlace();
+        try (SpectatorFeed feed = new SpectatorFeed()) {
+            Recording local = new Recording();
+            feed.addWatcher(local);
+            int port = feed.listen(0);
+            Recording remote = new Recording();
+            Thread reader = new Thread(() -> {
+                try {
+                    SpectatorFeed.watch("127.0.0.1", port, remote);
+                } catch (IOException e) {
+                    // feed closed
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+            long end = System.currentTimeMillis() + WAIT_MILLIS;
+            while (feed.getWatcherCount() < 2 && System.currentTimeMillis() < end)
+                Thread.sleep(10);
+            assertEquals(2, feed.getWatcherCount());
+
+            feed.startGame(game);
+            find(game, feed, words[0]);
+            find(game, feed, words[1]);
+            game.undoLast();
+            feed.unfound(game.getWordId(words[1]));
+            feed.score(game.getScore());
+            game.deductScore(-7); // a bonus, so the final score is one no earlier frame carried
+            feed.score(game.getScore());
+            WordSearchGameGUI.Coord a = game.cellsOf(words[2]).get(0);
+            feed.select(a.r(), a.c());
+            feed.select(a.r(), a.c() == 0 ? 1 : 0);
+            feed.deselect(); // leaves one cell selected
+
+            awaitCaughtUp(feed, local, game.getScore());
+            awaitCaughtUp(feed, remote, game.getScore());
+            // joins mid-game, so it is built from a snapshot rather than from the deltas
+            Recording late = new Recording();
+            feed.addWatcher(late);
+
+            List<String> found = foundByProducer(game);
+            assertEquals(List.of(words[0]), found);
+            for (Recording r : List.of(local, remote, late)) {
+                assertContiguous(r);
+                assertEquals(found, r.getFoundWords());
+                assertEquals(game.getScore(), r.getScore());
+                assertEquals(feed.getSeq(), r.getSeq());
+                assertEquals(List.of(a), r.getSelection());
+            }
+            assertEquals(local.render(), remote.render());
+            assertEquals(local.render(), late.render());
+            List<WordSearchGameGUI.Coord> lit = game.cellsOf(words[0]);
+            for (WordSearchGameGUI.Coord c : lit)
+                assertEquals(Character.toLowerCase(game.getGrid()[c.r()][c.c()]), cell(local.render(), c).charAt(1));
+            char letter = game.getGrid()[a.r()][a.c()];
+            assertEquals("[" + (lit.contains(a) ? Character.toLowerCase(letter) : letter) + "]", cell(local.render(), a));
+            // a busy game is batched: far fewer messages than actions
+            assertTrue(local.seqs.size() < 10, "messages: " + local.seqs);
+        }
+    }
+
+    @Test
+    void aThrowingWatcherIsDroppedWithoutStoppingTheOthers() throws Exception {
+        WordSearchGameGUI.WordSearchGame game = newGame();
+        try (SpectatorFeed feed = new SpectatorFeed()) {
+            Recording good = new Recording();
+            feed.addWatcher(new SpectatorFeed.Spectator() {
+                @Override
+                public synchronized void apply(byte type, int s, ByteBuffer in) {
+                    if (type == SpectatorFeed.FRAME)
+                        throw new IllegalStateException("Bad word ID 99");
+                    super.apply(type, s, in);
+                }
+            });
+            feed.addWatcher(good);
+            feed.startGame(game);
+            awaitCaughtUp(feed, good, game.getScore());
+            find(game, feed, game.getWordsToPlace()[0]);
+            awaitCaughtUp(feed, good, game.getScore());
+            assertEquals(1, feed.getWatcherCount());
+            game.deductScore(-5);
+            feed.score(game.getScore()); // the broadcaster is still running
+            awaitCaughtUp(feed, good, game.getScore());
+            assertContiguous(good);
+        }
+    }
+
+    @Test
+    void aRemoteWatcherThatStopsReadingIsCutOff() throws Exception {
+        try (SpectatorFeed feed = new SpectatorFeed();
+             ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress("127.0.0.1", 0));
+            SocketChannel stalled = SocketChannel.open(); // connects, then never reads
+            stalled.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            stalled.connect(server.getLocalAddress());
+            SpectatorFeed.SocketWatcher w = feed.new SocketWatcher(server.accept());
+            ByteBuffer big = ByteBuffer.allocate(1 << 20);
+            int delivered = 0;
+            while (delivered < 10_000 && w.deliver(big.duplicate()))
+                delivered++;
+            assertTrue(delivered < 10_000, "never cut off");
+            assertFalse(w.deliver(big.duplicate()), "a dropped watcher stays dropped");
+            stalled.close();
+        }
+    }
+}
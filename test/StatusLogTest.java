@@ -0,0 +1,40 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.jupiter.api.Test;
+
+class StatusLogTest {
+
+    @Test
+    void fullLogDropsTheOldestLine() {
+        StatusLog log = new StatusLog(3);
+        List<String> events = new ArrayList<>();
+        log.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add("+" + e.getIndex0());
+            }
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("-" + e.getIndex0() + ".." + e.getIndex1());
+            }
+            public void contentsChanged(ListDataEvent e) {
+                events.add("~");
+            }
+        });
+        log.append("one\ntwo\nthree\n");
+        log.add("four");
+        assertEquals(3, log.getSize());
+        assertEquals("two", log.getElementAt(0));
+        assertEquals("four", log.getElementAt(2));
+        assertEquals(List.of("+0", "+1", "+2", "-0..0", "+2"), events);
+        log.clear();
+        assertEquals(0, log.getSize());
+        assertEquals("-0..2", events.get(events.size() - 1));
+    }
+
+    @Test
+    void rejectsAnEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new StatusLog(0));
+    }
+}
@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class WordTrieTest {
+
+    private static WordSearchGameGUI.WordSearchGame.WordTrie trie(String... words) {
+        WordSearchGameGUI.WordSearchGame.WordTrie t = new WordSearchGameGUI.WordSearchGame.WordTrie();
+        for (String w : words)
+            t.insert(w);
+        return t;
+    }
+
+    @Test
+    void containsOnlyWholeWords() {
+        WordSearchGameGUI.WordSearchGame.WordTrie t = trie("JAVA", "JAM", "CODE");
+        assertTrue(t.contains("JAVA"));
+        assertTrue(t.contains("jam"));
+        assertFalse(t.contains("JA"));
+        assertFalse(t.contains("JAVAS"));
+        assertTrue(t.hasPrefix("JA"));
+        assertFalse(t.hasPrefix("JO"));
+        assertEquals(3, t.size());
+    }
+
+    @Test
+    void stepFollowsOneLetterAtATime() {
+        WordSearchGameGUI.WordSearchGame.WordTrie t = trie("CODE");
+        int node = WordSearchGameGUI.WordSearchGame.WordTrie.ROOT;
+        for (char ch : "COD".toCharArray()) {
+            node = t.step(node, ch);
+            assertNotEquals(WordSearchGameGUI.WordSearchGame.WordTrie.NONE, node);
+            assertFalse(t.isWord(node));
+        }
+        node = t.step(node, 'E');
+        assertTrue(t.isWord(node));
+        assertEquals(node, t.walk("CODE"));
+        assertEquals(WordSearchGameGUI.WordSearchGame.WordTrie.NONE, t.step(node, 'X'));
+        assertEquals(WordSearchGameGUI.WordSearchGame.WordTrie.NONE, t.step(WordSearchGameGUI.WordSearchGame.WordTrie.NONE, 'C'));
+    }
+
+    @Test
+    void wordOutsideAToZLeavesNoPrefixBehind() {
+        WordSearchGameGUI.WordSearchGame.WordTrie t = trie("ABC-D");
+        assertEquals(0, t.size());
+        assertFalse(t.hasPrefix("A"));
+        assertEquals(WordSearchGameGUI.WordSearchGame.WordTrie.NONE, t.walk("AB"));
+    }
+
+    @Test
+    void duplicateInsertCountsOnce() {
+        assertEquals(1, trie("JAVA", "JAVA", "java").size());
+    }
+}